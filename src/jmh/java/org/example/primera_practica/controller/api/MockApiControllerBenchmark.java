@@ -0,0 +1,151 @@
+package org.example.primera_practica.controller.api;
+
+import org.example.primera_practica.PrimeraPracticaApplication;
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.ProjectDTO;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of serving a mock through {@link MockApiController#executeMock}: route lookup,
+ * expiry and JWT checks and the response write, against an application context seeded with a few
+ * hundred mocks. {@code pathVariableHit} matches a path template with a static body, {@code templatedBody}
+ * also renders the body from the path, the query string and the clock. Servlet objects are Spring's mocks, so the filter chain and Tomcat are not included;
+ * the request is reused and only a fresh response is allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockApiControllerBenchmark {
+
+    private static final String PROJECT = "Benchmark";
+    private static final int MOCK_COUNT = 200;
+
+    private ConfigurableApplicationContext context;
+    private MockApiController mockApiController;
+    private MockHttpServletRequest staticRequest;
+    private MockHttpServletRequest pathVariableRequest;
+    private MockHttpServletRequest templatedRequest;
+    private MockHttpServletRequest jwtRequest;
+    private MockHttpServletRequest notFoundRequest;
+    private String bearerToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PrimeraPracticaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "app.open-browser-on-start=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.example=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run();
+        mockApiController = context.getBean(MockApiController.class);
+        ProjectService projectService = context.getBean(ProjectService.class);
+        MockEndpointService mockEndpointService = context.getBean(MockEndpointService.class);
+
+        ProjectDTO project = new ProjectDTO();
+        project.setName(PROJECT);
+        project.setDescription("JMH fixture");
+        Long projectId = projectService.createProject(project, "admin").getId();
+
+        for (int i = 0; i < MOCK_COUNT; i++) {
+            mockEndpointService.createMockEndpoint(mock(projectId, "/resources/" + i, false), "admin");
+        }
+        mockEndpointService.createMockEndpoint(mock(projectId, "/users/{id}/orders/{orderId}", false), "admin");
+        MockEndpointDTO templated = mock(projectId, "/customers/{id}", false);
+        templated.setTemplated(true);
+        templated.setResponseBody("{\"id\":\"{{path.id}}\",\"page\":\"{{query.page}}\",\"at\":\"{{now}}\","
+                + "\"items\":[1,2,3,4,5,6,7,8,9,10]}");
+        mockEndpointService.createMockEndpoint(templated, "admin");
+        bearerToken = "Bearer " + mockEndpointService.createMockEndpoint(mock(projectId, "/secure", true), "admin")
+                .getGeneratedJwt();
+
+        staticRequest = request("/resources/" + (MOCK_COUNT / 2));
+        pathVariableRequest = request("/users/42/orders/7");
+        templatedRequest = request("/customers/42");
+        templatedRequest.setQueryString("page=3");
+        jwtRequest = request("/secure");
+        jwtRequest.addHeader("Authorization", bearerToken);
+        notFoundRequest = request("/missing");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse staticPath() throws IOException {
+        return execute(staticRequest, null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse pathVariableHit() throws IOException {
+        return execute(pathVariableRequest, null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse templatedBody() throws IOException {
+        return execute(templatedRequest, null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse jwtProtected() throws IOException {
+        return execute(jwtRequest, bearerToken);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse notFound() throws IOException {
+        return execute(notFoundRequest, null);
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request, String authHeader) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        mockApiController.executeMock(PROJECT, request, response, authHeader);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String mockPath) {
+        return new MockHttpServletRequest("GET", "/api/mock/" + PROJECT + mockPath);
+    }
+
+    private static MockEndpointDTO mock(Long projectId, String path, boolean requiresJwt) {
+        MockEndpointDTO mock = new MockEndpointDTO();
+        mock.setProjectId(projectId);
+        mock.setName("Mock " + path);
+        mock.setPath(path);
+        mock.setMethod(HttpMethod.GET);
+        mock.setHttpStatusCode(200);
+        mock.setContentType("application/json");
+        mock.setResponseBody("{\"path\":\"" + path + "\",\"items\":[1,2,3,4,5,6,7,8,9,10]}");
+        mock.setRequiresJwt(requiresJwt);
+        return mock;
+    }
+}
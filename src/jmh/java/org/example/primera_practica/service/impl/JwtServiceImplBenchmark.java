@@ -0,0 +1,61 @@
+package org.example.primera_practica.service.impl;
+
+import org.example.primera_practica.service.logging.JwtTokenLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation, with the verified-token cache enabled and disabled
+ * (the latter is the cost of a first-seen token: HMAC check plus JSON parsing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceImplBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_long_enough_for_hmac_sha_256_signatures";
+
+    private JwtServiceImpl cachedJwtService;
+    private JwtServiceImpl uncachedJwtService;
+    private LocalDateTime expiration;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        cachedJwtService = new JwtServiceImpl(beanFactory.getBeanProvider(JwtTokenLogger.class), SECRET, 10_000);
+        uncachedJwtService = new JwtServiceImpl(beanFactory.getBeanProvider(JwtTokenLogger.class), SECRET, 0);
+        expiration = LocalDateTime.now().plusDays(1);
+        token = cachedJwtService.generateToken("benchmark", expiration);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtService.generateToken("benchmark", expiration);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedJwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwtService.validateToken(token);
+    }
+}
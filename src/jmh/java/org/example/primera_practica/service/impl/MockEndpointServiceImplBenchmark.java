@@ -0,0 +1,100 @@
+package org.example.primera_practica.service.impl;
+
+import org.example.primera_practica.PrimeraPracticaApplication;
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockHeaderDTO;
+import org.example.primera_practica.dto.ProjectDTO;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the single-mock view through the public service API: the transaction, the detail query with
+ * headers, the variants select and the DTO mapping, against the same kind of booted context as
+ * {@code MockApiControllerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MockEndpointServiceImplBenchmark {
+
+    @Param({"0", "5"})
+    public int headerCount;
+
+    private ConfigurableApplicationContext context;
+    private MockEndpointService mockEndpointService;
+    private Long mockId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PrimeraPracticaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh-service",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "app.open-browser-on-start=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.example=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run();
+        mockEndpointService = context.getBean(MockEndpointService.class);
+        ProjectService projectService = context.getBean(ProjectService.class);
+
+        ProjectDTO project = new ProjectDTO();
+        project.setName("Benchmark");
+        project.setDescription("JMH fixture");
+        Long projectId = projectService.createProject(project, "admin").getId();
+
+        MockEndpointDTO mock = new MockEndpointDTO();
+        mock.setProjectId(projectId);
+        mock.setName("List users");
+        mock.setDescription("Benchmark mock");
+        mock.setPath("/users");
+        mock.setMethod(HttpMethod.GET);
+        mock.setHttpStatusCode(200);
+        mock.setContentType("application/json");
+        mock.setResponseBody("{\"users\":[{\"id\":1,\"name\":\"Ada\"},{\"id\":2,\"name\":\"Grace\"}]}");
+        List<MockHeaderDTO> headers = new ArrayList<>();
+        for (int i = 0; i < headerCount; i++) {
+            MockHeaderDTO header = new MockHeaderDTO();
+            header.setHeaderKey("X-Header-" + i);
+            header.setHeaderValue("value-" + i);
+            headers.add(header);
+        }
+        mock.setHeaders(headers);
+        mockId = mockEndpointService.createMockEndpoint(mock, "admin").getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockEndpointDTO getMockEndpointByIdForUser() {
+        return mockEndpointService.getMockEndpointByIdForUser(mockId, "admin");
+    }
+}
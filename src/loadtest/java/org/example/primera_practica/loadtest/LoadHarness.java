@@ -0,0 +1,327 @@
+package org.example.primera_practica.loadtest;
+
+import org.example.primera_practica.PrimeraPracticaApplication;
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.ProjectDTO;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.example.primera_practica.service.runtime.LatencyHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline load harness: starts the application on a random port, seeds projects and mocks through
+ * {@link MockEndpointService} and drives {@code /api/mock/**} with a closed-loop JDK HttpClient
+ * workload on virtual threads. It runs once per Tomcat thread mode (platform workers, then virtual
+ * threads) and writes latency percentiles and throughput for each run to a JSON report.
+ * <p>
+ * Settings are system properties ({@code ./gradlew loadTest -Pload.concurrency=800}):
+ * <ul>
+ *     <li>{@code load.projects}, {@code load.mocks}: projects and mocks per project to seed</li>
+ *     <li>{@code load.concurrency}: concurrent in-flight requests</li>
+ *     <li>{@code load.warmup}, {@code load.duration}: seconds of unrecorded warmup and of measurement</li>
+ *     <li>{@code load.jwt}, {@code load.delayed}, {@code load.notFound}: request mix fractions, the rest are plain hits</li>
+ *     <li>{@code load.delayMillis}: delay of the delayed mocks</li>
+ *     <li>{@code load.modes}: comma-separated thread modes to run, {@code platform,virtual} by default</li>
+ *     <li>{@code load.report}: report file</li>
+ * </ul>
+ */
+public final class LoadHarness {
+
+    private static final String ADMIN = "admin";
+
+    private final int projects = Integer.getInteger("load.projects", 5);
+    private final int mocksPerProject = Integer.getInteger("load.mocks", 50);
+    private final int concurrency = Integer.getInteger("load.concurrency", 400);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 5);
+    private final int durationSeconds = Integer.getInteger("load.duration", 30);
+    private final double jwtFraction = doubleProperty("load.jwt", 0.2);
+    private final double delayedFraction = doubleProperty("load.delayed", 0.1);
+    private final double notFoundFraction = doubleProperty("load.notFound", 0.1);
+    private final int delayMillis = Integer.getInteger("load.delayMillis", 50);
+    private final String modes = System.getProperty("load.modes", "platform,virtual");
+    private final File reportFile = new File(System.getProperty("load.report", "build/reports/loadtest/report.json"));
+
+    public static void main(String[] args) throws Exception {
+        new LoadHarness().run();
+    }
+
+    private void run() throws Exception {
+        if (projects < 1 || mocksPerProject < 3) {
+            // Every project needs at least one plain, one JWT and one delayed mock
+            throw new IllegalArgumentException("load.projects must be at least 1 and load.mocks at least 3");
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("config", config());
+
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (String mode : modes.split(",")) {
+            String threadMode = mode.trim().toLowerCase(Locale.ROOT);
+            if (!threadMode.equals("platform") && !threadMode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown thread mode: " + mode);
+            }
+            System.out.printf("Running %s-thread mode: %d s warmup, %d s measured, %d concurrent requests%n",
+                    threadMode, warmupSeconds, durationSeconds, concurrency);
+            runs.add(runMode(threadMode));
+        }
+        report.put("runs", runs);
+        if (runs.size() == 2) {
+            report.put("comparison", compare(runs.get(0), runs.get(1)));
+        }
+
+        File parent = reportFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        System.out.println("Load report written to " + reportFile.getAbsolutePath());
+    }
+
+    private Map<String, Object> runMode(String threadMode) throws InterruptedException {
+        try (ConfigurableApplicationContext context = startApplication(threadMode)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            Targets targets = seed(context, "http://localhost:" + port + "/api/mock/");
+            return drive(threadMode, targets);
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(String threadMode) {
+        return new SpringApplicationBuilder(PrimeraPracticaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + threadMode.equals("virtual"),
+                        "spring.datasource.url=jdbc:h2:mem:load-" + threadMode,
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "app.open-browser-on-start=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.example=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run();
+    }
+
+    private Targets seed(ConfigurableApplicationContext context, String baseUrl) {
+        ProjectService projectService = context.getBean(ProjectService.class);
+        MockEndpointService mockEndpointService = context.getBean(MockEndpointService.class);
+        Targets targets = new Targets();
+
+        for (int p = 0; p < projects; p++) {
+            ProjectDTO project = new ProjectDTO();
+            project.setName("Load" + p);
+            project.setDescription("Load harness fixture");
+            Long projectId = projectService.createProject(project, ADMIN).getId();
+
+            for (int m = 0; m < mocksPerProject; m++) {
+                // One JWT and one delayed mock in every ten, the rest plain
+                Kind kind = m % 10 == 0 ? Kind.JWT : m % 10 == 1 ? Kind.DELAYED : Kind.PLAIN;
+                String path = "/items/" + m;
+                MockEndpointDTO created = mockEndpointService.createMockEndpoint(
+                        mock(projectId, path, kind), ADMIN);
+                if (kind == Kind.JWT && targets.bearerToken == null) {
+                    targets.bearerToken = "Bearer " + created.getGeneratedJwt();
+                }
+                targets.uris.get(kind).add(URI.create(baseUrl + project.getName() + path));
+            }
+            targets.uris.get(Kind.NOT_FOUND).add(URI.create(baseUrl + project.getName() + "/missing"));
+        }
+        return targets;
+    }
+
+    private MockEndpointDTO mock(Long projectId, String path, Kind kind) {
+        MockEndpointDTO mock = new MockEndpointDTO();
+        mock.setProjectId(projectId);
+        mock.setName(kind + " " + path);
+        mock.setPath(path);
+        mock.setMethod(HttpMethod.GET);
+        mock.setHttpStatusCode(200);
+        mock.setContentType("application/json");
+        mock.setResponseBody("{\"path\":\"" + path + "\",\"items\":[1,2,3,4,5,6,7,8,9,10]}");
+        mock.setRequiresJwt(kind == Kind.JWT);
+        mock.setDelayMillis(kind == Kind.DELAYED ? delayMillis : null);
+        return mock;
+    }
+
+    private Map<String, Object> drive(String threadMode, Targets targets) throws InterruptedException {
+        Map<Kind, LatencyHistogram> histograms = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            histograms.put(kind, new LatencyHistogram());
+        }
+        LatencyHistogram overall = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+
+        long measureStart = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long deadline = measureStart + Duration.ofSeconds(durationSeconds).toNanos();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(clientExecutor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build();
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Kind kind = pickKind();
+                        List<URI> uris = targets.uris.get(kind);
+                        URI uri = uris.get(ThreadLocalRandom.current().nextInt(uris.size()));
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET();
+                        if (kind == Kind.JWT) {
+                            request.header("Authorization", targets.bearerToken);
+                        }
+
+                        long started = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        long finished = System.nanoTime();
+                        if (started < measureStart || finished > deadline) {
+                            continue;
+                        }
+                        if (status != kind.expectedStatus) {
+                            errors.increment();
+                        }
+                        histograms.get(kind).record(finished - started);
+                        overall.record(finished - started);
+                    }
+                });
+            }
+        }
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("threadMode", threadMode);
+        run.put("requests", overall.getCount());
+        run.put("errors", errors.sum());
+        run.put("throughputPerSecond", overall.getCount() / (double) durationSeconds);
+        run.put("latencyMillis", summarize(overall));
+        Map<String, Object> byKind = new LinkedHashMap<>();
+        for (Kind kind : Kind.values()) {
+            LatencyHistogram histogram = histograms.get(kind);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", histogram.getCount());
+            summary.put("latencyMillis", summarize(histogram));
+            byKind.put(kind.name().toLowerCase(Locale.ROOT), summary);
+        }
+        run.put("byKind", byKind);
+        System.out.printf("  %s: %.0f req/s, p99 %.2f ms, %d errors%n", threadMode,
+                overall.getCount() / (double) durationSeconds, overall.percentileNanos(0.99) / 1e6, errors.sum());
+        return run;
+    }
+
+    private Kind pickKind() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < jwtFraction) {
+            return Kind.JWT;
+        }
+        if (roll < jwtFraction + delayedFraction) {
+            return Kind.DELAYED;
+        }
+        if (roll < jwtFraction + delayedFraction + notFoundFraction) {
+            return Kind.NOT_FOUND;
+        }
+        return Kind.PLAIN;
+    }
+
+    private static Map<String, Object> summarize(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("p50", histogram.percentileNanos(0.50) / 1e6);
+        summary.put("p90", histogram.percentileNanos(0.90) / 1e6);
+        summary.put("p99", histogram.percentileNanos(0.99) / 1e6);
+        summary.put("p99.9", histogram.percentileNanos(0.999) / 1e6);
+        summary.put("max", histogram.getMaxNanos() / 1e6);
+        summary.put("mean", histogram.getCount() > 0 ? histogram.getTotalNanos() / 1e6 / histogram.getCount() : 0);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> compare(Map<String, Object> baseline, Map<String, Object> candidate) {
+        Map<String, Object> baselineLatency = (Map<String, Object>) baseline.get("latencyMillis");
+        Map<String, Object> candidateLatency = (Map<String, Object>) candidate.get("latencyMillis");
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("baseline", baseline.get("threadMode"));
+        comparison.put("candidate", candidate.get("threadMode"));
+        comparison.put("throughputRatio", ratio(candidate.get("throughputPerSecond"), baseline.get("throughputPerSecond")));
+        comparison.put("p50Ratio", ratio(candidateLatency.get("p50"), baselineLatency.get("p50")));
+        comparison.put("p99Ratio", ratio(candidateLatency.get("p99"), baselineLatency.get("p99")));
+        return comparison;
+    }
+
+    private static double ratio(Object numerator, Object denominator) {
+        double divisor = ((Number) denominator).doubleValue();
+        return divisor == 0 ? 0 : ((Number) numerator).doubleValue() / divisor;
+    }
+
+    private Map<String, Object> config() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("projects", projects);
+        config.put("mocksPerProject", mocksPerProject);
+        config.put("concurrency", concurrency);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("jwtFraction", jwtFraction);
+        config.put("delayedFraction", delayedFraction);
+        config.put("notFoundFraction", notFoundFraction);
+        config.put("delayMillis", delayMillis);
+        return config;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private enum Kind {
+        PLAIN(200),
+        JWT(200),
+        DELAYED(200),
+        NOT_FOUND(404);
+
+        private final int expectedStatus;
+
+        Kind(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    private static final class Targets {
+        private final Map<Kind, List<URI>> uris = new EnumMap<>(Kind.class);
+        private String bearerToken;
+
+        private Targets() {
+            for (Kind kind : Kind.values()) {
+                uris.put(kind, new ArrayList<>());
+            }
+        }
+    }
+}
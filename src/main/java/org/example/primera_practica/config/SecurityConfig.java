@@ -1,12 +1,16 @@
 package org.example.primera_practica.config;
 
 import org.example.primera_practica.security.JwtAuthenticationFilter;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.example.primera_practica.security.UserDetailsCache;
+import org.example.primera_practica.service.JwtService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -19,11 +23,35 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
-        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    public SecurityConfig(JwtService jwtService, UserDetailsService userDetailsService, UserDetailsCache userDetailsCache) {
+        this.jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userDetailsCache);
     }
 
+    /**
+     * Mock data plane. Every route is public and {@code MockApiController} checks mock JWTs itself, so the
+     * chain keeps no session, security context, CSRF, request cache or login machinery, and writes no
+     * security headers that would override the ones a mock defines.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain mockApiSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/api/mock/**", "/api/users")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .securityContext(securityContext -> securityContext.disable())
+            .requestCache(requestCache -> requestCache.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .servletApi(servletApi -> servletApi.disable())
+            .headers(headers -> headers.disable())
+            .logout(logout -> logout.disable())
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf
@@ -33,7 +61,7 @@ public class SecurityConfig {
                 .frameOptions(frameOptions -> frameOptions.sameOrigin())
             )
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/login", "/tech-stack", "/api/mock/**", "/api/users", "/h2-console/**",
+                .requestMatchers("/", "/login", "/tech-stack", "/h2-console/**",
                                 "/css/**", "/js/**", "/images/**").permitAll()
                 .requestMatchers("/admin/**", "/users/**").hasRole("ADMIN")
                 .requestMatchers("/projects/**", "/mocks/**").authenticated()
@@ -1,34 +1,99 @@
 package org.example.primera_practica.controller.api;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.http.HttpServletRequest;
-import org.example.primera_practica.dto.MockEndpointDTO;
+import jakarta.servlet.http.HttpServletResponse;
 import org.example.primera_practica.exception.ResourceNotFoundException;
 import org.example.primera_practica.model.HttpMethod;
 import org.example.primera_practica.service.JwtService;
 import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.capture.RequestJournal;
+import org.example.primera_practica.service.logging.MockAccessLog;
+import org.example.primera_practica.service.runtime.CompiledMock;
+import org.example.primera_practica.service.runtime.ContentCoding;
+import org.example.primera_practica.service.runtime.MockBulkheads;
+import org.example.primera_practica.service.runtime.MockDelayScheduler;
+import org.example.primera_practica.service.runtime.MockMatch;
+import org.example.primera_practica.service.runtime.MockMetrics;
+import org.example.primera_practica.service.runtime.MockStage;
+import org.example.primera_practica.service.runtime.ProjectBulkhead;
+import org.example.primera_practica.service.runtime.TemplateBuffer;
+import org.example.primera_practica.service.runtime.TemplateValues;
+import org.example.primera_practica.service.runtime.VariantRequest;
+import org.example.primera_practica.util.CachedRequestBody;
 import org.example.primera_practica.util.PathNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("/api")
 public class MockApiController {
 
+    private static final Logger logger = LoggerFactory.getLogger(MockApiController.class);
+
+    // Delayed responses complete from the timer; this only guards against a lost completion.
+    private static final long ASYNC_TIMEOUT_MARGIN_MILLIS = 30_000L;
+    private static final String QUEUED_MOCK_ATTRIBUTE = MockApiController.class.getName() + ".queuedMock";
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     private final MockEndpointService mockEndpointService;
     private final JwtService jwtService;
+    private final MockDelayScheduler mockDelayScheduler;
+    private final MockMetrics mockMetrics;
+    private final MockAccessLog mockAccessLog;
+    private final RequestJournal requestJournal;
+    private final MockBulkheads mockBulkheads;
+    private final JsonMapper jsonMapper;
     private final String usersProjectName;
+    private final int variantMaxBodyBytes;
 
     public MockApiController(
         MockEndpointService mockEndpointService,
         JwtService jwtService,
-        @Value("${mock.users.project-name:Usuarios}") String usersProjectName) {
+        MockDelayScheduler mockDelayScheduler,
+        MockMetrics mockMetrics,
+        MockAccessLog mockAccessLog,
+        RequestJournal requestJournal,
+        MockBulkheads mockBulkheads,
+        JsonMapper jsonMapper,
+        @Value("${mock.users.project-name:Usuarios}") String usersProjectName,
+        @Value("${mock.variants.max-body-bytes:1048576}") int variantMaxBodyBytes) {
         this.mockEndpointService = mockEndpointService;
         this.jwtService = jwtService;
+        this.mockDelayScheduler = mockDelayScheduler;
+        this.mockMetrics = mockMetrics;
+        this.mockAccessLog = mockAccessLog;
+        this.requestJournal = requestJournal;
+        this.mockBulkheads = mockBulkheads;
+        this.jsonMapper = jsonMapper;
         this.usersProjectName = usersProjectName;
+        this.variantMaxBodyBytes = variantMaxBodyBytes;
     }
 
     @RequestMapping(
@@ -36,10 +101,12 @@ public class MockApiController {
         method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, 
                   RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS}
     )
-    public ResponseEntity<String> executeMock(
+    public void executeMock(
             @PathVariable String projectName,
             HttpServletRequest request,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            HttpServletResponse response,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) throws IOException {
+        long startedNanos = System.nanoTime();
         String mockPath = null;
         HttpMethod httpMethod = null;
 
@@ -53,22 +120,23 @@ public class MockApiController {
             // Get HTTP method
             httpMethod = HttpMethod.valueOf(request.getMethod());
 
-            return executeMockResponse(projectName, mockPath, httpMethod, authHeader);
+            executeMockResponse(projectName, mockPath, httpMethod, authHeader, startedNanos, request, response);
 
         } catch (ResourceNotFoundException e) {
+            mockMetrics.recordNotFound();
             String errorMessage = (httpMethod != null && mockPath != null)
                 ? "Mock endpoint not found for " + httpMethod + " " + mockPath
                 : e.getMessage();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("{\"error\": \"" + errorMessage + "\"}");
+            long bytes = writeError(response, HttpStatus.NOT_FOUND, errorMessage);
+            recordResponse(projectName, null, request, HttpStatus.NOT_FOUND.value(), startedNanos, bytes);
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body("{\"error\": \"Invalid HTTP method\"}");
+            long bytes = writeError(response, HttpStatus.BAD_REQUEST, "Invalid HTTP method");
+            recordResponse(projectName, null, request, HttpStatus.BAD_REQUEST.value(), startedNanos, bytes);
         } catch (Exception e) {
             // Log error for debugging but don't expose details to client
-            System.err.println("Error processing mock request: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("{\"error\": \"Internal server error\"}");
+            logger.error("Error processing mock request {} {}", request.getMethod(), request.getRequestURI(), e);
+            long bytes = writeError(response, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+            recordResponse(projectName, null, request, HttpStatus.INTERNAL_SERVER_ERROR.value(), startedNanos, bytes);
         }
     }
 
@@ -77,84 +145,626 @@ public class MockApiController {
         method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT,
                   RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS}
     )
-    public ResponseEntity<String> executeUsersMock(
+    public void executeUsersMock(
             HttpServletRequest request,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            HttpServletResponse response,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) throws IOException {
+        long startedNanos = System.nanoTime();
         String mockPath = PathNormalizer.normalizePath("/api/users");
         HttpMethod httpMethod = HttpMethod.valueOf(request.getMethod());
 
         try {
-            return executeMockResponse(usersProjectName, mockPath, httpMethod, authHeader);
+            executeMockResponse(usersProjectName, mockPath, httpMethod, authHeader, startedNanos, request, response);
         } catch (ResourceNotFoundException e) {
+            mockMetrics.recordNotFound();
             String errorMessage = "Mock endpoint not found for " + httpMethod + " " + mockPath;
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("{\"error\": \"" + errorMessage + "\"}");
+            long bytes = writeError(response, HttpStatus.NOT_FOUND, errorMessage);
+            recordResponse(usersProjectName, null, request, HttpStatus.NOT_FOUND.value(), startedNanos, bytes);
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body("{\"error\": \"Invalid HTTP method\"}");
+            long bytes = writeError(response, HttpStatus.BAD_REQUEST, "Invalid HTTP method");
+            recordResponse(usersProjectName, null, request, HttpStatus.BAD_REQUEST.value(), startedNanos, bytes);
         } catch (Exception e) {
             // Log error for debugging but don't expose details to client
-            System.err.println("Error processing mock request: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("{\"error\": \"Internal server error\"}");
+            logger.error("Error processing mock request {} {}", request.getMethod(), request.getRequestURI(), e);
+            long bytes = writeError(response, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+            recordResponse(usersProjectName, null, request, HttpStatus.INTERNAL_SERVER_ERROR.value(), startedNanos, bytes);
         }
     }
 
-    private ResponseEntity<String> executeMockResponse(
+    private void executeMockResponse(
             String projectName,
             String mockPath,
             HttpMethod httpMethod,
-            String authHeader) {
-        // Find mock endpoint
-        MockEndpointDTO mockEndpoint = mockEndpointService
-            .findMockByProjectAndPathAndMethod(projectName, mockPath, httpMethod);
+            String authHeader,
+            long startedNanos,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // Resumed from the project's queue: lookup, capture and rate limits already ran, and a permit was handed over
+        QueuedMock queuedMock = (QueuedMock) request.getAttribute(QUEUED_MOCK_ATTRIBUTE);
+        if (queuedMock != null) {
+            request.removeAttribute(QUEUED_MOCK_ATTRIBUTE);
+            mockMetrics.recordStage(MockStage.QUEUE, System.nanoTime() - queuedMock.queuedNanos);
+            serveWithPermit(projectName, queuedMock.match, authHeader, queuedMock.startedNanos,
+                    new BulkheadPermit(queuedMock.bulkhead), request, response);
+            return;
+        }
+
+        // Find mock endpoint in the in-memory route table (exact path or path template)
+        MockMatch match;
+        try {
+            match = mockEndpointService.resolveMock(projectName, mockPath, httpMethod);
+        } finally {
+            mockMetrics.recordStage(MockStage.LOOKUP, System.nanoTime() - startedNanos);
+        }
+        CompiledMock mockEndpoint = match.getMock();
+
+        // Captured before any check, so rejected requests can be inspected too
+        if (mockEndpoint.isCaptureRequests()) {
+            requestJournal.capture(mockEndpoint.getId(), request);
+        }
+
+        // Rate limits first: a rejected request costs one read of the bucket and nothing else
+        long retryAfterNanos = mockEndpoint.acquirePermit(startedNanos);
+        if (retryAfterNanos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos) + 1));
+            long bytes = writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+            recordResponse(projectName, mockEndpoint, request, HttpStatus.TOO_MANY_REQUESTS.value(), startedNanos, bytes);
+            return;
+        }
+
+        // Per-project bulkhead: past its permits a project waits in its own queue, holding no thread
+        ProjectBulkhead bulkhead = mockBulkheads.forProject(projectName);
+        if (bulkhead == null) {
+            serveAdmitted(projectName, match, authHeader, startedNanos, null, request, response);
+        } else if (bulkhead.tryAcquire()) {
+            serveWithPermit(projectName, match, authHeader, startedNanos, new BulkheadPermit(bulkhead), request, response);
+        } else if (bulkhead.tryReserveQueueSlot()) {
+            enqueue(projectName, match, startedNanos, bulkhead, request, response);
+        } else {
+            writeBulkheadRejection(projectName, mockEndpoint, startedNanos, request, response);
+        }
+    }
+
+    private void serveWithPermit(
+            String projectName,
+            MockMatch match,
+            String authHeader,
+            long startedNanos,
+            BulkheadPermit permit,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        boolean async = false;
+        try {
+            async = serveAdmitted(projectName, match, authHeader, startedNanos, permit, request, response);
+        } finally {
+            // Delayed responses give the permit back when they complete
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Checks expiry and JWT, selects the variant and writes the response.
+     *
+     * @param permit released on completion if the response is delayed, or {@code null} without a bulkhead
+     * @return true if the response completes asynchronously
+     */
+    private boolean serveAdmitted(
+            String projectName,
+            MockMatch match,
+            String authHeader,
+            long startedNanos,
+            BulkheadPermit permit,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        CompiledMock mockEndpoint = match.getMock();
 
         // Validate not expired
-        if (mockEndpoint.getExpirationDate().isBefore(LocalDateTime.now())) {
-            return ResponseEntity.status(HttpStatus.GONE)
-                .body("{\"error\": \"Mock endpoint has expired\"}");
+        if (mockEndpoint.isExpired(LocalDateTime.now())) {
+            long bytes = writeError(response, HttpStatus.GONE, "Mock endpoint has expired");
+            recordResponse(projectName, mockEndpoint, request, HttpStatus.GONE.value(), startedNanos, bytes);
+            return false;
         }
 
         // Validate JWT if required
-        if (Boolean.TRUE.equals(mockEndpoint.getRequiresJwt())) {
+        String jwtSubject = null;
+        if (mockEndpoint.isRequiresJwt()) {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("{\"error\": \"JWT token is required\"}");
+                long bytes = writeError(response, HttpStatus.UNAUTHORIZED, "JWT token is required");
+                recordResponse(projectName, mockEndpoint, request, HttpStatus.UNAUTHORIZED.value(), startedNanos, bytes);
+                return false;
             }
 
             String token = authHeader.substring(7);
-            if (!jwtService.validateToken(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("{\"error\": \"Invalid or expired JWT token\"}");
+            long jwtStartedNanos = System.nanoTime();
+            boolean valid;
+            if (mockEndpoint.isTemplated()) {
+                // Templates may print the subject; take it from the same verification
+                jwtSubject = jwtService.extractValidUsername(token);
+                valid = jwtSubject != null;
+            } else {
+                valid = jwtService.validateToken(token);
+            }
+            mockMetrics.recordStage(MockStage.JWT, System.nanoTime() - jwtStartedNanos);
+            if (!valid) {
+                long bytes = writeError(response, HttpStatus.UNAUTHORIZED, "Invalid or expired JWT token");
+                recordResponse(projectName, mockEndpoint, request, HttpStatus.UNAUTHORIZED.value(), startedNanos, bytes);
+                return false;
             }
         }
 
-        // Apply delay if configured
-        if (mockEndpoint.getDelaySeconds() != null && mockEndpoint.getDelaySeconds() > 0) {
+        // Request data for variant conditions and templates, read only when one asks for it
+        MockRequestValues requestValues = mockEndpoint.hasVariants() || mockEndpoint.isTemplated()
+                ? new MockRequestValues(request, match.getPathVariables(), jwtSubject)
+                : null;
+        if (mockEndpoint.hasVariants()) {
+            CompiledMock selected = mockEndpoint.selectVariant(requestValues);
+            if (selected != mockEndpoint) {
+                match = new MockMatch(selected, match.getPathVariables());
+            }
+        }
+
+        // Apply the sampled delay if configured, without holding the servlet thread
+        long delayNanos = mockEndpoint.sampleDelayNanos();
+        if (delayNanos > 0) {
+            writeMockAfterDelay(projectName, match, requestValues, delayNanos, startedNanos, permit, request, response);
+            return true;
+        }
+
+        writeMockAndRecord(projectName, match, requestValues, startedNanos, request, response);
+        return false;
+    }
+
+    /**
+     * Parks the request in the project's queue without a thread. Once a permit is handed over, the request is
+     * dispatched again and resumes in {@link #executeMockResponse}; if the wait times out it is rejected.
+     */
+    private void enqueue(
+            String projectName,
+            MockMatch match,
+            long startedNanos,
+            ProjectBulkhead bulkhead,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(mockBulkheads.getQueueTimeoutMillis());
+        QueuedMock queuedMock = new QueuedMock(match, startedNanos, System.nanoTime(), bulkhead);
+        ProjectBulkhead.Ticket ticket = bulkhead.enqueue(() -> {
+            request.setAttribute(QUEUED_MOCK_ATTRIBUTE, queuedMock);
+            asyncContext.dispatch();
+        });
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (!ticket.cancel()) {
+                    return;
+                }
+                try {
+                    writeBulkheadRejection(projectName, match.getMock(), startedNanos,
+                            (HttpServletRequest) asyncContext.getRequest(),
+                            (HttpServletResponse) asyncContext.getResponse());
+                } catch (IOException e) {
+                    logger.debug("Could not send queue timeout for project {}", projectName, e);
+                } finally {
+                    asyncContext.complete();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                ticket.cancel();
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private void writeBulkheadRejection(
+            String projectName,
+            CompiledMock mock,
+            long startedNanos,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        HttpStatus status = mockBulkheads.getRejectionStatus();
+        if (mockBulkheads.getRetryAfterSeconds() > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(mockBulkheads.getRetryAfterSeconds()));
+        }
+        long bytes = writeError(response, status, "Project is at its concurrency limit");
+        recordResponse(projectName, mock, request, status.value(), startedNanos, bytes);
+    }
+
+    private void writeMockAfterDelay(
+            String projectName,
+            MockMatch match,
+            MockRequestValues requestValues,
+            long delayNanos,
+            long startedNanos,
+            BulkheadPermit permit,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        if (permit != null) {
+            asyncContext.addListener(permit);
+        }
+        asyncContext.setTimeout(TimeUnit.NANOSECONDS.toMillis(delayNanos) + ASYNC_TIMEOUT_MARGIN_MILLIS);
+        long delayStartedNanos = System.nanoTime();
+        mockDelayScheduler.afterNanos(delayNanos).whenComplete((ignored, failure) -> {
             try {
-                Thread.sleep(mockEndpoint.getDelaySeconds() * 1000L);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-
-        // Build response with configured headers, status, content-type, body
-        var responseBuilder = ResponseEntity.status(mockEndpoint.getHttpStatusCode());
-        
-        // Add content type header
-        responseBuilder.header("Content-Type", mockEndpoint.getContentType());
-        
-        // Add custom headers
-        if (mockEndpoint.getHeaders() != null) {
-            mockEndpoint.getHeaders().forEach(header -> 
-                responseBuilder.header(header.getHeaderKey(), header.getHeaderValue())
-            );
-        }
-
-        // Return response with body
-        String responseBody = mockEndpoint.getResponseBody() != null ? 
-            mockEndpoint.getResponseBody() : "";
-        
-        return responseBuilder.body(responseBody);
+                mockMetrics.recordStage(MockStage.DELAY, System.nanoTime() - delayStartedNanos);
+                writeMockAndRecord(projectName, match, requestValues, startedNanos,
+                        (HttpServletRequest) asyncContext.getRequest(),
+                        (HttpServletResponse) asyncContext.getResponse());
+            } catch (Exception e) {
+                logger.error("Error writing delayed mock response for mock {}", match.getMock().getId(), e);
+            } finally {
+                asyncContext.complete();
+            }
+        });
+    }
+
+    private void writeMockAndRecord(
+            String projectName,
+            MockMatch match,
+            MockRequestValues requestValues,
+            long startedNanos,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long writeStartedNanos = System.nanoTime();
+        long bytes = writeMock(match, requestValues, request, response);
+        mockMetrics.recordStage(MockStage.WRITE, System.nanoTime() - writeStartedNanos);
+        recordResponse(projectName, match.getMock(), request, response.getStatus(), startedNanos, bytes);
+    }
+
+    /**
+     * Feeds both the in-memory metrics and the access log; {@code mock} is null when nothing matched.
+     */
+    private void recordResponse(
+            String projectName,
+            CompiledMock mock,
+            HttpServletRequest request,
+            int status,
+            long startedNanos,
+            long bytes) {
+        long latencyNanos = System.nanoTime() - startedNanos;
+        if (mock != null) {
+            mockMetrics.recordResponse(mock, status, latencyNanos);
+        }
+        mockAccessLog.record(projectName, request.getMethod(), request.getRequestURI(), status,
+                mock != null ? mock.getId() : null, latencyNanos, bytes);
+    }
+
+    /**
+     * Writes the pre-serialized response straight to the servlet output stream,
+     * bypassing ResponseEntity and the message converters. Templated bodies are rendered into a
+     * reused per-thread buffer first. Returns the number of body bytes sent.
+     */
+    private long writeMock(MockMatch match, MockRequestValues requestValues, HttpServletRequest request,
+                           HttpServletResponse response)
+            throws IOException {
+        CompiledMock mockEndpoint = match.getMock();
+
+        String[] headerNames = mockEndpoint.getHeaderNames();
+        String[] headerValues = mockEndpoint.getHeaderValues();
+        for (int i = 0; i < headerNames.length; i++) {
+            response.addHeader(headerNames[i], headerValues[i]);
+        }
+
+        ContentCoding coding = ContentCoding.IDENTITY;
+        if (mockEndpoint.hasCompressedVariants()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            coding = ContentCoding.negotiate(
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                    mockEndpoint.getBody(ContentCoding.GZIP) != null,
+                    mockEndpoint.getBody(ContentCoding.DEFLATE) != null);
+        }
+
+        if (mockEndpoint.isCacheable()) {
+            String etag = mockEndpoint.getEtag(coding);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            if (mockEndpoint.getLastModifiedHeader() != null) {
+                response.setHeader(HttpHeaders.LAST_MODIFIED, mockEndpoint.getLastModifiedHeader());
+            }
+            if (isNotModified(mockEndpoint, etag, request)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return 0;
+            }
+        }
+
+        response.setStatus(mockEndpoint.getHttpStatusCode());
+        response.setContentType(mockEndpoint.getContentTypeHeader());
+        if (coding != ContentCoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, coding.getToken());
+        }
+
+        if (mockEndpoint.isFileBacked()) {
+            writeFileBody(mockEndpoint, request, response);
+            return mockEndpoint.getContentLength();
+        }
+
+        if (mockEndpoint.isTemplated()) {
+            TemplateBuffer rendered = mockEndpoint.getTemplate().render(requestValues);
+            response.setContentLength(rendered.size());
+            rendered.writeTo(response.getOutputStream());
+            return rendered.size();
+        }
+
+        byte[] body = mockEndpoint.getBody(coding);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return body.length;
+    }
+
+    /**
+     * Stored bodies never pass through the heap: Tomcat's sendfile hands the file to the kernel when
+     * the connector supports it, otherwise the file channel is transferred to the response.
+     */
+    private void writeFileBody(CompiledMock mockEndpoint, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long length = mockEndpoint.getContentLength();
+        response.setContentLengthLong(length);
+
+        if (!request.isAsyncStarted() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, mockEndpoint.getBodyFile().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(mockEndpoint.getBodyFile(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                long transferred = channel.transferTo(position, length - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * If-None-Match takes precedence over If-Modified-Since (RFC 9110, section 13.2.2).
+     */
+    private boolean isNotModified(CompiledMock mockEndpoint, String etag, HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+
+        if (mockEndpoint.getLastModifiedMillis() < 0) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && mockEndpoint.getLastModifiedMillis() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            // Unparseable date: ignore the precondition
+            return false;
+        }
+    }
+
+    /**
+     * Weak comparison over a comma-separated entity-tag list, as required for If-None-Match.
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        int length = ifNoneMatch.length();
+        int start = 0;
+        while (start < length) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int from = start;
+            int to = end;
+            while (from < to && Character.isWhitespace(ifNoneMatch.charAt(from))) {
+                from++;
+            }
+            while (to > from && Character.isWhitespace(ifNoneMatch.charAt(to - 1))) {
+                to--;
+            }
+            if (ifNoneMatch.startsWith("W/", from)) {
+                from += 2;
+            }
+            if ((to - from == 1 && ifNoneMatch.charAt(from) == '*')
+                    || (to - from == etag.length() && ifNoneMatch.regionMatches(from, etag, 0, etag.length()))) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private long writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        if (response.isCommitted()) {
+            // Failed while streaming the mock body; nothing sensible can be sent anymore.
+            return 0;
+        }
+        byte[] body = ("{\"error\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return body.length;
+    }
+
+    /**
+     * What a queued request needs to resume once it is dispatched again.
+     */
+    private static final class QueuedMock {
+
+        private final MockMatch match;
+        private final long startedNanos;
+        private final long queuedNanos;
+        private final ProjectBulkhead bulkhead;
+
+        private QueuedMock(MockMatch match, long startedNanos, long queuedNanos, ProjectBulkhead bulkhead) {
+            this.match = match;
+            this.startedNanos = startedNanos;
+            this.queuedNanos = queuedNanos;
+            this.bulkhead = bulkhead;
+        }
+    }
+
+    /**
+     * A held bulkhead permit. Released exactly once, either when the handler returns or, for delayed responses,
+     * when the asynchronous response completes.
+     */
+    private static final class BulkheadPermit implements AsyncListener {
+
+        private final ProjectBulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private BulkheadPermit(ProjectBulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Request data for variant conditions and templates, read lazily. The query string is only scanned when a
+     * parameter is asked for, and the body is read and parsed at most once.
+     */
+    private final class MockRequestValues implements TemplateValues, VariantRequest {
+
+        private final HttpServletRequest request;
+        private final Map<String, String> pathVariables;
+        private final String jwtSubject;
+        private long now = -1;
+        private String bodyText;
+        private boolean bodyRead;
+        private JsonNode jsonBody;
+        private boolean jsonParsed;
+
+        private MockRequestValues(HttpServletRequest request, Map<String, String> pathVariables, String jwtSubject) {
+            this.request = request;
+            this.pathVariables = pathVariables;
+            this.jwtSubject = jwtSubject;
+        }
+
+        @Override
+        public String pathVariable(String name) {
+            return pathVariables.get(name);
+        }
+
+        @Override
+        public String queryParameter(String name) {
+            String query = request.getQueryString();
+            if (query == null) {
+                return null;
+            }
+            int start = 0;
+            while (start <= query.length()) {
+                int end = query.indexOf('&', start);
+                if (end < 0) {
+                    end = query.length();
+                }
+                int equals = query.indexOf('=', start);
+                int nameEnd = equals >= 0 && equals < end ? equals : end;
+                if (decode(query.substring(start, nameEnd)).equals(name)) {
+                    return nameEnd < end ? decode(query.substring(nameEnd + 1, end)) : "";
+                }
+                start = end + 1;
+            }
+            return null;
+        }
+
+        @Override
+        public String header(String name) {
+            return request.getHeader(name);
+        }
+
+        @Override
+        public String bodyText() {
+            if (!bodyRead) {
+                bodyRead = true;
+                try {
+                    byte[] body = CachedRequestBody.read(request, variantMaxBodyBytes);
+                    String encoding = request.getCharacterEncoding();
+                    bodyText = body.length == 0 ? null
+                            : new String(body, encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8);
+                } catch (IOException | IllegalArgumentException e) {
+                    // Unreadable body or unknown charset: conditions on the body do not match
+                    bodyText = null;
+                }
+            }
+            return bodyText;
+        }
+
+        @Override
+        public JsonNode jsonBody() {
+            if (!jsonParsed) {
+                jsonParsed = true;
+                String text = bodyText();
+                try {
+                    jsonBody = text != null ? jsonMapper.readTree(text) : null;
+                } catch (JacksonException e) {
+                    jsonBody = null;
+                }
+            }
+            return jsonBody;
+        }
+
+        @Override
+        public String jwtSubject() {
+            return jwtSubject;
+        }
+
+        @Override
+        public String method() {
+            return request.getMethod();
+        }
+
+        @Override
+        public String path() {
+            return request.getRequestURI();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            // Every timestamp in one response shows the same instant
+            if (now < 0) {
+                now = System.currentTimeMillis();
+            }
+            return now;
+        }
+
+        private static String decode(String value) {
+            try {
+                return URLDecoder.decode(value, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                // Malformed escape: use the raw text
+                return value;
+            }
+        }
     }
 }
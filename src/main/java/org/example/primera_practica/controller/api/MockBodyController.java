@@ -0,0 +1,92 @@
+package org.example.primera_practica.controller.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.exception.ResourceNotFoundException;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.runtime.MockBodyStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Uploads raw response bodies straight into the disk body store, for payloads too large for the form.
+ * The endpoint uses the session and is exempt from CSRF like the rest of {@code /api/**}, so it only accepts
+ * content types a cross-site form cannot send, which forces browsers through a CORS preflight.
+ */
+@RestController
+@RequestMapping("/api/mocks")
+public class MockBodyController {
+
+    private final MockEndpointService mockEndpointService;
+    private final MockBodyStore mockBodyStore;
+
+    public MockBodyController(MockEndpointService mockEndpointService, MockBodyStore mockBodyStore) {
+        this.mockEndpointService = mockEndpointService;
+        this.mockBodyStore = mockBodyStore;
+    }
+
+    @PutMapping(value = "/{id}/body", consumes = {
+        MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public ResponseEntity<Map<String, Object>> uploadBody(
+        @PathVariable("id") Long id,
+        HttpServletRequest request,
+        Authentication authentication) throws IOException {
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Authentication required"));
+        }
+
+        try {
+            // Check access before accepting what may be hundreds of megabytes
+            mockEndpointService.getMockEndpointByIdForUser(id, authentication.getName());
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+        } catch (AccessDeniedException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", ex.getMessage()));
+        }
+
+        if (request.getContentLengthLong() > mockBodyStore.getMaxUploadBytes()) {
+            return bodyTooLarge();
+        }
+
+        MockBodyStore.StoredBody storedBody;
+        try (InputStream body = request.getInputStream()) {
+            // Chunked uploads have no length up front, so the limit is also enforced while streaming
+            storedBody = mockBodyStore.store(body, mockBodyStore.getMaxUploadBytes());
+        } catch (MockBodyStore.BodyTooLargeException ex) {
+            return bodyTooLarge();
+        }
+
+        MockEndpointDTO mockEndpoint;
+        try {
+            mockEndpoint = mockEndpointService.attachStoredBodyForUser(id, storedBody, authentication.getName());
+        } catch (RuntimeException ex) {
+            mockBodyStore.discard(storedBody);
+            throw ex;
+        }
+
+        return ResponseEntity.ok(Map.of(
+            "id", mockEndpoint.getId(),
+            "size", storedBody.getSize(),
+            "sha256", storedBody.getKey()
+        ));
+    }
+
+    private ResponseEntity<Map<String, Object>> bodyTooLarge() {
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE)
+            .body(Map.of("error", "Body exceeds the maximum of " + mockBodyStore.getMaxUploadBytes() + " bytes"));
+    }
+}
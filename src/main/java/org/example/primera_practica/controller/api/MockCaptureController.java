@@ -0,0 +1,63 @@
+package org.example.primera_practica.controller.api;
+
+import org.example.primera_practica.dto.CapturedRequestPageDTO;
+import org.example.primera_practica.exception.ResourceNotFoundException;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.capture.RequestJournal;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recent requests recorded by the request journal for one mock, newest first.
+ */
+@RestController
+@RequestMapping("/api/mocks")
+public class MockCaptureController {
+
+    private final MockEndpointService mockEndpointService;
+    private final RequestJournal requestJournal;
+
+    public MockCaptureController(MockEndpointService mockEndpointService, RequestJournal requestJournal) {
+        this.mockEndpointService = mockEndpointService;
+        this.requestJournal = requestJournal;
+    }
+
+    @GetMapping("/{id}/requests")
+    public ResponseEntity<Map<String, Object>> getCapturedRequests(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "before", required = false) Long before,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Authentication required"));
+        }
+
+        try {
+            mockEndpointService.getMockEndpointByIdForUser(id, authentication.getName());
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+        } catch (AccessDeniedException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", ex.getMessage()));
+        }
+
+        CapturedRequestPageDTO page = requestJournal.page(id, before, size);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mockId", page.getMockId());
+        result.put("items", page.getItems());
+        result.put("nextBefore", page.getNextBefore());
+        return ResponseEntity.ok(result);
+    }
+}
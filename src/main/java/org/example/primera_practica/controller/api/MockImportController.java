@@ -0,0 +1,179 @@
+package org.example.primera_practica.controller.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockImportResultDTO;
+import org.example.primera_practica.exception.ResourceNotFoundException;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Bulk mock import. The body is a JSON array or newline-delimited JSON of mock definitions and is read
+ * incrementally: each chunk is validated in parallel and written in its own transaction, so an import of
+ * tens of thousands of mocks never sits in memory at once. Invalid entries are reported and skipped, whether
+ * they fail bean validation, parsing of their profile, limit or conditions, or collide with a route already served.
+ * A chunk that still fails as a whole ends the import with the progress made so far.
+ * Like the rest of {@code /api/**} the endpoint accepts the session without a CSRF token, so it requires a JSON
+ * content type, which a cross-site form cannot send without a CORS preflight.
+ */
+@RestController
+@RequestMapping("/api/projects")
+public class MockImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockImportController.class);
+
+    // Only the first errors are echoed back; a broken generator would otherwise return one per entry
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final MockEndpointService mockEndpointService;
+    private final ProjectService projectService;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final int chunkSize;
+
+    public MockImportController(MockEndpointService mockEndpointService,
+                                ProjectService projectService,
+                                Validator validator,
+                                JsonMapper jsonMapper,
+                                @Value("${mock.import.chunk-size:1000}") int chunkSize) {
+        this.mockEndpointService = mockEndpointService;
+        this.projectService = projectService;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @PostMapping(value = "/{projectId}/mocks/import",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Map<String, Object>> importMocks(
+        @PathVariable("projectId") Long projectId,
+        HttpServletRequest request,
+        Authentication authentication) throws IOException {
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Authentication required"));
+        }
+        String username = authentication.getName();
+
+        try {
+            // Check access before reading what may be tens of thousands of definitions
+            projectService.getProjectByIdForUser(projectId, username);
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+        } catch (AccessDeniedException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", ex.getMessage()));
+        }
+
+        ImportProgress progress = new ImportProgress();
+        try (InputStream body = request.getInputStream();
+             MappingIterator<MockEndpointDTO> definitions = jsonMapper.readerFor(MockEndpointDTO.class).readValues(body)) {
+            List<MockEndpointDTO> chunk = new ArrayList<>(chunkSize);
+            while (definitions.hasNextValue()) {
+                MockEndpointDTO definition = definitions.nextValue();
+                definition.setProjectId(projectId);
+                chunk.add(definition);
+                if (chunk.size() == chunkSize) {
+                    importChunk(projectId, chunk, username, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(projectId, chunk, username, progress);
+        } catch (JacksonException ex) {
+            Map<String, Object> result = progress.toResponse();
+            result.put("error", "Malformed mock definition after entry " + progress.read + ": " + ex.getOriginalMessage());
+            return ResponseEntity.badRequest().body(result);
+        } catch (RuntimeException ex) {
+            // The failed chunk was rolled back; the ones before it are committed and must be reported
+            logger.error("Mock import into project {} failed after entry {}", projectId, progress.read, ex);
+            Map<String, Object> result = progress.toResponse();
+            result.put("error", "Import stopped after entry " + progress.read + ": the next chunk could not be saved");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+        }
+
+        return ResponseEntity.ok(progress.toResponse());
+    }
+
+    private void importChunk(Long projectId, List<MockEndpointDTO> chunk, String username, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Validators are thread-safe; the checks are independent per entry
+        List<Set<ConstraintViolation<MockEndpointDTO>>> violations = chunk.parallelStream()
+                .map(validator::validate)
+                .toList();
+
+        List<MockEndpointDTO> valid = new ArrayList<>(chunk.size());
+        List<Integer> validIndexes = new ArrayList<>(chunk.size());
+        Map<Integer, List<String>> rejected = new TreeMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Set<ConstraintViolation<MockEndpointDTO>> entryViolations = violations.get(i);
+            if (entryViolations.isEmpty()) {
+                valid.add(chunk.get(i));
+                validIndexes.add(i);
+            } else {
+                rejected.put(i, entryViolations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .toList());
+            }
+        }
+        // The service skips entries that only fail once parsed or checked against the project's routes
+        MockImportResultDTO result = mockEndpointService.importMockEndpointsForUser(projectId, valid, username);
+        result.getRejected().forEach((index, error) -> rejected.put(validIndexes.get(index), List.of(error)));
+
+        rejected.forEach((index, errors) -> progress.reject(progress.read + index, errors));
+        progress.read += chunk.size();
+        progress.imported += result.getImported();
+    }
+
+    private static final class ImportProgress {
+        private long read;
+        private long imported;
+        private long rejected;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void reject(long index, List<String> entryErrors) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(Map.of("index", index, "errors", entryErrors));
+            }
+        }
+
+        Map<String, Object> toResponse() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("imported", imported);
+            result.put("rejected", rejected);
+            result.put("errors", errors);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.primera_practica.controller.api;
+
+import org.example.primera_practica.dto.MockMetricsDTO;
+import org.example.primera_practica.service.MockMetricsService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@PreAuthorize("hasRole('ADMIN')")
+public class MockMetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private final MockMetricsService mockMetricsService;
+
+    public MockMetricsController(MockMetricsService mockMetricsService) {
+        this.mockMetricsService = mockMetricsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<MockMetricsDTO> getMetrics() {
+        return ResponseEntity.ok(mockMetricsService.getMetrics());
+    }
+
+    @GetMapping("/prometheus")
+    public ResponseEntity<String> getPrometheusMetrics() {
+        return ResponseEntity.ok()
+            .contentType(PROMETHEUS_TEXT)
+            .body(mockMetricsService.getPrometheusMetrics());
+    }
+}
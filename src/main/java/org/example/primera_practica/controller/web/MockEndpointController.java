@@ -2,9 +2,13 @@ package org.example.primera_practica.controller.web;
 
 import jakarta.validation.Valid;
 import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockEndpointSummaryPageDTO;
+import org.example.primera_practica.dto.MockSummarySort;
 import org.example.primera_practica.model.HttpMethod;
 import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.MockMetricsService;
 import org.example.primera_practica.service.ProjectService;
+import org.example.primera_practica.service.capture.RequestJournal;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -19,19 +23,35 @@ public class MockEndpointController {
 
     private final MockEndpointService mockEndpointService;
     private final ProjectService projectService;
+    private final MockMetricsService mockMetricsService;
+    private final RequestJournal requestJournal;
 
-    public MockEndpointController(MockEndpointService mockEndpointService, ProjectService projectService) {
+    public MockEndpointController(MockEndpointService mockEndpointService,
+                                  ProjectService projectService,
+                                  MockMetricsService mockMetricsService,
+                                  RequestJournal requestJournal) {
         this.mockEndpointService = mockEndpointService;
         this.projectService = projectService;
+        this.mockMetricsService = mockMetricsService;
+        this.requestJournal = requestJournal;
     }
 
     @GetMapping
     public String listMocks(@RequestParam(required = false) Long projectId,
+                            @RequestParam(required = false) String sort,
+                            @RequestParam(required = false) Long after,
+                            @RequestParam(defaultValue = "50") int size,
                             Model model,
                             Authentication authentication) {
         try {
             if (projectId != null) {
-                model.addAttribute("mocks", mockEndpointService.getAllMockEndpointsByProjectForUser(projectId, authentication.getName()));
+                MockEndpointSummaryPageDTO mockPage = mockEndpointService.getMockEndpointSummariesForUser(
+                        projectId, MockSummarySort.fromValueOrDefault(sort), after, size, authentication.getName());
+                model.addAttribute("mockPage", mockPage);
+                model.addAttribute("mocks", mockPage.getItems());
+                model.addAttribute("sortOptions", MockSummarySort.values());
+                model.addAttribute("pageSize", size);
+                model.addAttribute("firstPage", after == null);
                 model.addAttribute("projectId", projectId);
             } else {
                 model.addAttribute("projects", projectService.getAllProjectsByUser(authentication.getName()));
@@ -87,6 +107,7 @@ public class MockEndpointController {
                            RedirectAttributes redirectAttributes) {
         try {
             model.addAttribute("mock", mockEndpointService.getMockEndpointByIdForUser(id, authentication.getName()));
+            model.addAttribute("mockStats", mockMetricsService.getMockStats(id));
             return "mocks/view";
         } catch (AccessDeniedException e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Access denied: you cannot access this mock endpoint.");
@@ -97,6 +118,28 @@ public class MockEndpointController {
         }
     }
 
+    @GetMapping("/{id}/requests")
+    public String viewCapturedRequests(@PathVariable Long id,
+                                       @RequestParam(required = false) Long before,
+                                       @RequestParam(defaultValue = "20") int size,
+                                       Model model,
+                                       Authentication authentication,
+                                       RedirectAttributes redirectAttributes) {
+        try {
+            model.addAttribute("mock", mockEndpointService.getMockEndpointByIdForUser(id, authentication.getName()));
+            model.addAttribute("capturePage", requestJournal.page(id, before, size));
+            model.addAttribute("pageSize", size);
+            model.addAttribute("firstPage", before == null);
+            return "mocks/requests";
+        } catch (AccessDeniedException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Access denied: you cannot access this mock endpoint.");
+            return "redirect:/mocks";
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Mock endpoint not found");
+            return "redirect:/mocks";
+        }
+    }
+
     @GetMapping("/{id}/edit")
     public String showEditForm(@PathVariable Long id,
                                Model model,
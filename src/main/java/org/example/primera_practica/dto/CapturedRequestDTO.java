@@ -0,0 +1,29 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A request recorded by the request journal. {@code id} is the record's position in the journal and
+ * doubles as the pagination cursor; bodies are cut at {@code mock.capture.max-body-bytes}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapturedRequestDTO {
+    private Long id;
+    private Long mockId;
+    private LocalDateTime receivedAt;
+    private String method;
+    private String path;
+    private String query;
+    private String remoteAddress;
+    private List<MockHeaderDTO> headers;
+    private String body;
+    private long bodySize;
+    private boolean bodyTruncated;
+}
@@ -0,0 +1,19 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Newest-first page of captured requests; {@code nextBefore} is the cursor for older requests, or null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapturedRequestPageDTO {
+    private Long mockId;
+    private List<CapturedRequestDTO> items;
+    private Long nextBefore;
+}
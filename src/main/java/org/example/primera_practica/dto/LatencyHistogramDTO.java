@@ -0,0 +1,22 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of a stage histogram; all durations are in microseconds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyHistogramDTO {
+    private String stage;
+    private long count;
+    private double meanMicros;
+    private double p50Micros;
+    private double p90Micros;
+    private double p99Micros;
+    private double p999Micros;
+    private double maxMicros;
+}
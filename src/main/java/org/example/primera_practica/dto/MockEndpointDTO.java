@@ -1,5 +1,6 @@
 package org.example.primera_practica.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -38,9 +39,17 @@ public class MockEndpointDTO {
     private String contentType;
     
     private String responseBody;
+
+    /**
+     * Size in bytes of a body kept in the disk body store; {@code responseBody} is then left empty.
+     */
+    private Long storedBodySize;
     
     private List<MockHeaderDTO> headers = new ArrayList<>();
 
+    @Valid
+    private List<MockVariantDTO> variants = new ArrayList<>();
+
     @Pattern(
             regexp = "^(ONE_YEAR|ONE_MONTH|ONE_WEEK|ONE_DAY|ONE_HOUR)?$",
             message = "{mock.validation.expirationOption.invalid}")
@@ -50,9 +59,26 @@ public class MockEndpointDTO {
     
     @Min(value = 0, message = "{mock.validation.delaySeconds.min}")
     private Integer delaySeconds;
+
+    @Min(value = 0, message = "{mock.validation.delayMillis.min}")
+    private Integer delayMillis;
+
+    @Pattern(
+            regexp = "(?i)^\\s*((fixed|uniform|normal|log-?normal|pareto)\\s*:\\s*\\d+(\\.\\d+)?\\s*(,\\s*\\d+(\\.\\d+)?\\s*)?)?$",
+            message = "{mock.validation.latencyProfile.invalid}")
+    private String latencyProfile;
+
+    @Pattern(
+            regexp = "(?i)^\\s*(\\d+\\s*/\\s*[smh]\\s*(,\\s*\\d+\\s*)?)?$",
+            message = "{mock.validation.rateLimit.invalid}")
+    private String rateLimit;
     
     private Boolean requiresJwt = false;
 
+    private Boolean captureRequests;
+
+    private Boolean templated;
+
     private String generatedJwt;
     
     private String createdBy;
@@ -63,4 +89,6 @@ public class MockEndpointDTO {
     private String projectName;
     
     private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,25 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.primera_practica.model.HttpMethod;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing row of a mock: only the columns the table shows, never the body, token or header values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockEndpointSummaryDTO {
+    private Long id;
+    private String name;
+    private HttpMethod method;
+    private String path;
+    private Integer httpStatusCode;
+    private LocalDateTime expirationDate;
+    private Boolean requiresJwt;
+    private Integer headerCount;
+}
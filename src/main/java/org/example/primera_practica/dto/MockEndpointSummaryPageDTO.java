@@ -0,0 +1,21 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of mock summaries; {@code nextAfterId} is the cursor for the next page, or null on the last one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockEndpointSummaryPageDTO {
+    private Long projectId;
+    private String projectName;
+    private MockSummarySort sort;
+    private List<MockEndpointSummaryDTO> items;
+    private Long nextAfterId;
+}
@@ -0,0 +1,25 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.primera_practica.model.HttpMethod;
+
+/**
+ * Hit counters of one mock or, with {@code mockId}, {@code method} and {@code path} left null, of one project.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockHitStatsDTO {
+    private Long mockId;
+    private String projectName;
+    private HttpMethod method;
+    private String path;
+    private long hits;
+    private long status2xx;
+    private long status3xx;
+    private long status4xx;
+    private long status5xx;
+    private double meanMicros;
+}
@@ -0,0 +1,19 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of importing one chunk: the number of mocks created, and the reason each skipped definition
+ * was rejected, keyed by its position in the chunk.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockImportResultDTO {
+    private int imported;
+    private Map<Integer, String> rejected;
+}
@@ -0,0 +1,19 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockMetricsDTO {
+    private long notFound;
+    private List<LatencyHistogramDTO> stages = new ArrayList<>();
+    private List<MockHitStatsDTO> projects = new ArrayList<>();
+    private List<MockHitStatsDTO> mocks = new ArrayList<>();
+    private List<ProjectBulkheadDTO> bulkheads = new ArrayList<>();
+}
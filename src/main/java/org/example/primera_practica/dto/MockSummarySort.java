@@ -0,0 +1,29 @@
+package org.example.primera_practica.dto;
+
+import java.util.Arrays;
+
+/**
+ * Orders available for the paginated mock listing; each is ascending with the id as tie-breaker.
+ */
+public enum MockSummarySort {
+    NAME("name"),
+    PATH("path"),
+    EXPIRATION("expiration");
+
+    private final String value;
+
+    MockSummarySort(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static MockSummarySort fromValueOrDefault(String value) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.value.equalsIgnoreCase(value))
+                .findFirst()
+                .orElse(NAME);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.primera_practica.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockVariantDTO {
+    private Long id;
+
+    private Integer priority;
+
+    @NotBlank(message = "Variant conditions are required")
+    private String conditions;
+
+    @NotNull(message = "Variant status code is required")
+    @Min(value = 100, message = "Variant status code must be at least 100")
+    @Max(value = 599, message = "Variant status code must be at most 599")
+    private Integer httpStatusCode;
+
+    private String responseBody;
+}
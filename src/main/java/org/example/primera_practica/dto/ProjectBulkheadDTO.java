@@ -0,0 +1,20 @@
+package org.example.primera_practica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current load of one project's bulkhead: requests holding a permit and requests waiting for one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectBulkheadDTO {
+    private String projectName;
+    private int inFlight;
+    private int queued;
+    private int maxConcurrent;
+    private int maxQueued;
+    private long rejected;
+}
@@ -1,6 +1,7 @@
 package org.example.primera_practica.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,6 +21,18 @@ public class ProjectDTO {
     
     @Size(max = 1000, message = "Description must not exceed 1000 characters")
     private String description;
+
+    private Boolean captureRequests;
+
+    @Pattern(
+            regexp = "(?i)^\\s*((fixed|uniform|normal|log-?normal|pareto)\\s*:\\s*\\d+(\\.\\d+)?\\s*(,\\s*\\d+(\\.\\d+)?\\s*)?)?$",
+            message = "Latency profile must look like lognormal:100,40 (fixed, uniform, normal, lognormal or pareto)")
+    private String latencyProfile;
+
+    @Pattern(
+            regexp = "(?i)^\\s*(\\d+\\s*/\\s*[smh]\\s*(,\\s*\\d+\\s*)?)?$",
+            message = "Rate limit must look like 10/s or 600/m,20 (permits per s, m or h, optional burst)")
+    private String rateLimit;
     
     private String createdBy;
     private LocalDateTime createdAt;
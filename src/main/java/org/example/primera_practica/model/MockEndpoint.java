@@ -4,19 +4,29 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "mock_endpoints")
+@Table(name = "mock_endpoints", indexes = {
+    // Lets the expiry reaper read the oldest expired mocks without scanning the table
+    @Index(name = "idx_mock_endpoints_expiration_date", columnList = "expiration_date"),
+    // Back the keyset-paginated listing, one per sort order
+    @Index(name = "idx_mock_endpoints_project_name", columnList = "project_id, name, id"),
+    @Index(name = "idx_mock_endpoints_project_path", columnList = "project_id, path, id"),
+    @Index(name = "idx_mock_endpoints_project_expiration", columnList = "project_id, expiration_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class MockEndpoint {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round-trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mock_endpoints_id")
+    @SequenceGenerator(name = "mock_endpoints_id", sequenceName = "mock_endpoints_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -41,39 +51,103 @@ public class MockEndpoint {
     @Lob
     @Column(name = "response_body")
     private String responseBody;
+
+    /**
+     * Key of the body in the disk body store; when set, {@code responseBody} is null.
+     */
+    @Column(name = "body_key", length = 64)
+    private String bodyKey;
+
+    @Column(name = "body_size")
+    private Long bodySize;
     
     @OneToMany(mappedBy = "mockEndpoint", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MockHeader> headers = new ArrayList<>();
+
+    /**
+     * Conditional responses in priority order. Loaded in batches, so compiling a project's routes costs one
+     * extra select per 50 mocks, not one per mock.
+     */
+    @OneToMany(mappedBy = "mockEndpoint", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("priority ASC, id ASC")
+    @BatchSize(size = 50)
+    private List<MockVariant> variants = new ArrayList<>();
     
     @Column(name = "expiration_date", nullable = false)
     private LocalDateTime expirationDate;
     
     @Column(name = "delay_seconds")
     private Integer delaySeconds;
+
+    @Column(name = "delay_millis")
+    private Integer delayMillis;
+
+    /**
+     * Latency distribution such as {@code lognormal:100,40}; takes precedence over the fixed delay fields.
+     */
+    @Column(name = "latency_profile", length = 100)
+    private String latencyProfile;
+
+    /**
+     * Token-bucket limit such as {@code 10/s} or {@code 600/m,20}; excess requests get 429.
+     */
+    @Column(name = "rate_limit", length = 50)
+    private String rateLimit;
     
     @Column(name = "requires_jwt")
     private Boolean requiresJwt = false;
 
+    /**
+     * Record incoming requests in the request journal; also on when the project captures requests.
+     */
+    @Column(name = "capture_requests")
+    private Boolean captureRequests = false;
+
+    /**
+     * Treat {@code responseBody} as a template with request placeholders; ignored for stored bodies.
+     */
+    @Column(name = "templated")
+    private Boolean templated = false;
+
     @Column(name = "generated_jwt", length = 1000)
     private String generatedJwt;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
     
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
     
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(expirationDate);
     }
+
+    /**
+     * Millisecond delay wins over the legacy seconds field when both are present.
+     */
+    public long getEffectiveDelayMillis() {
+        if (delayMillis != null) {
+            return Math.max(0, delayMillis);
+        }
+        return delaySeconds != null ? Math.max(0, delaySeconds) * 1000L : 0L;
+    }
 }
@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class MockHeader {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mock_headers_id")
+    @SequenceGenerator(name = "mock_headers_id", sequenceName = "mock_headers_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "header_key", nullable = false)
@@ -21,7 +22,7 @@ public class MockHeader {
     @Column(name = "header_value", nullable = false)
     private String headerValue;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mock_endpoint_id", nullable = false)
     private MockEndpoint mockEndpoint;
 }
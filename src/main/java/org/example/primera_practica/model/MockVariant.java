@@ -0,0 +1,44 @@
+package org.example.primera_practica.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Conditional response of a mock: served instead of the mock's own status and body when all of its conditions
+ * hold. The mock's content type and headers still apply.
+ */
+@Entity
+@Table(name = "mock_variants")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MockVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mock_variants_id")
+    @SequenceGenerator(name = "mock_variants_id", sequenceName = "mock_variants_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Lower values are tried first; ties keep their creation order.
+     */
+    @Column(nullable = false)
+    private Integer priority = 0;
+
+    /**
+     * One condition per line, all of which must hold, e.g. {@code query.status = active}.
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String conditions;
+
+    @Column(name = "http_status_code", nullable = false)
+    private Integer httpStatusCode = 200;
+
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mock_endpoint_id", nullable = false)
+    private MockEndpoint mockEndpoint;
+}
@@ -25,10 +25,28 @@ public class Project {
     @Column(length = 1000)
     private String description;
     
+    /**
+     * Record incoming requests for every mock of the project in the request journal.
+     */
+    @Column(name = "capture_requests")
+    private Boolean captureRequests = false;
+
+    /**
+     * Latency distribution for mocks of the project that configure neither a profile nor a delay themselves.
+     */
+    @Column(name = "latency_profile", length = 100)
+    private String latencyProfile;
+
+    /**
+     * Token-bucket limit shared by all mocks of the project, checked after each mock's own limit.
+     */
+    @Column(name = "rate_limit", length = 50)
+    private String rateLimit;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL)
     private List<MockEndpoint> mockEndpoints = new ArrayList<>();
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
     
@@ -1,12 +1,20 @@
 package org.example.primera_practica.repository;
 
+import org.example.primera_practica.dto.MockEndpointSummaryDTO;
 import org.example.primera_practica.model.HttpMethod;
 import org.example.primera_practica.model.MockEndpoint;
 import org.example.primera_practica.model.Project;
 import org.example.primera_practica.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +23,87 @@ public interface MockEndpointRepository extends JpaRepository<MockEndpoint, Long
     List<MockEndpoint> findByProject(Project project);
     Optional<MockEndpoint> findByProjectAndPathAndMethod(Project project, String path, HttpMethod method);
     List<MockEndpoint> findByCreatedBy(User user);
+
+    // View, edit and serve lookups: the mock, its headers, creator, project and project owner in one select.
+    // As a fetch graph it also leaves the creators' eager roles unloaded.
+    @EntityGraph(attributePaths = {"headers", "createdBy", "project", "project.createdBy"})
+    Optional<MockEndpoint> findDetailedById(Long id);
+
+    @EntityGraph(attributePaths = {"headers", "createdBy", "project", "project.createdBy"})
     Optional<MockEndpoint> findByProjectNameAndPathAndMethod(String projectName, String path, HttpMethod method);
+
+    @Query("select distinct m from MockEndpoint m join fetch m.project p left join fetch m.headers " +
+           "where p.name = :projectName and m.expirationDate > :now order by m.id")
+    List<MockEndpoint> findAllLiveByProjectNameWithHeaders(@Param("projectName") String projectName,
+                                                           @Param("now") LocalDateTime now);
+
+    // Variants are a second bag, which cannot be join fetched with the headers. This keyed select fills them
+    // in on the mocks already loaded, so a route load is two statements whatever the number of mocks.
+    @Query("select distinct m from MockEndpoint m left join fetch m.variants where m.id in :ids")
+    List<MockEndpoint> fetchVariants(@Param("ids") Collection<Long> ids);
+
+    // Route conflict checks only need the keys of the mocks the route table would load
+    @Query("select m.id as id, m.name as name, m.method as method, m.path as path from MockEndpoint m " +
+           "where m.project.id = :projectId and m.expirationDate > :now")
+    List<LiveRoute> findLiveRoutesByProjectId(@Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    // Listing rows are projected straight into DTOs; the header count is a correlated count, not a fetch
+    String SUMMARY_SELECT = "select new org.example.primera_practica.dto.MockEndpointSummaryDTO(" +
+            "m.id, m.name, m.method, m.path, m.httpStatusCode, m.expirationDate, m.requiresJwt, size(m.headers)) " +
+            "from MockEndpoint m where m.project.id = :projectId ";
+
+    @Query(SUMMARY_SELECT + "and m.id = :id")
+    Optional<MockEndpointSummaryDTO> findSummary(@Param("projectId") Long projectId, @Param("id") Long id);
+
+    // Keyset pages: rows strictly after the cursor (sort key, id); a null cursor starts at the first row
+    @Query(SUMMARY_SELECT + "and (:afterId is null or m.name > :afterName or (m.name = :afterName and m.id > :afterId)) " +
+           "order by m.name, m.id")
+    List<MockEndpointSummaryDTO> findSummariesByName(@Param("projectId") Long projectId,
+                                                      @Param("afterName") String afterName,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "and (:afterId is null or m.path > :afterPath or (m.path = :afterPath and m.id > :afterId)) " +
+           "order by m.path, m.id")
+    List<MockEndpointSummaryDTO> findSummariesByPath(@Param("projectId") Long projectId,
+                                                      @Param("afterPath") String afterPath,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "and (:afterId is null or m.expirationDate > :afterExpiration " +
+           "or (m.expirationDate = :afterExpiration and m.id > :afterId)) " +
+           "order by m.expirationDate, m.id")
+    List<MockEndpointSummaryDTO> findSummariesByExpiration(@Param("projectId") Long projectId,
+                                                            @Param("afterExpiration") LocalDateTime afterExpiration,
+                                                            @Param("afterId") Long afterId,
+                                                            Pageable pageable);
+
+    boolean existsByBodyKey(String bodyKey);
+
+    @Query("select distinct m.bodyKey from MockEndpoint m where m.project.id = :projectId and m.bodyKey is not null")
+    List<String> findBodyKeysByProjectId(@Param("projectId") Long projectId);
+
+    @Query("select m.id from MockEndpoint m where m.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("select m.id as id, p.name as projectName, m.bodyKey as bodyKey from MockEndpoint m join m.project p " +
+           "where m.expirationDate <= :cutoff order by m.expirationDate, m.id")
+    List<ExpiredMock> findExpired(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from MockEndpoint m where m.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface LiveRoute {
+        Long getId();
+        String getName();
+        HttpMethod getMethod();
+        String getPath();
+    }
+
+    interface ExpiredMock {
+        Long getId();
+        String getProjectName();
+        String getBodyKey();
+    }
 }
@@ -3,11 +3,19 @@ package org.example.primera_practica.repository;
 import org.example.primera_practica.model.MockEndpoint;
 import org.example.primera_practica.model.MockHeader;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MockHeaderRepository extends JpaRepository<MockHeader, Long> {
     List<MockHeader> findByMockEndpoint(MockEndpoint mockEndpoint);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from MockHeader h where h.mockEndpoint.id in :mockIds")
+    int deleteAllByMockEndpointIdIn(@Param("mockIds") Collection<Long> mockIds);
 }
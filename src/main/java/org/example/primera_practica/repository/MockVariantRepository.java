@@ -0,0 +1,18 @@
+package org.example.primera_practica.repository;
+
+import org.example.primera_practica.model.MockVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface MockVariantRepository extends JpaRepository<MockVariant, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from MockVariant v where v.mockEndpoint.id in :mockIds")
+    int deleteAllByMockEndpointIdIn(@Param("mockIds") Collection<Long> mockIds);
+}
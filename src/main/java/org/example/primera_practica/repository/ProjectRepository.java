@@ -11,6 +11,7 @@ import java.util.Optional;
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     Optional<Project> findByName(String name);
+    boolean existsByName(String name);
     List<Project> findByCreatedBy(User user);
     List<Project> findByCreatedByOrderByCreatedAtDesc(User user);
 }
@@ -1,6 +1,7 @@
 package org.example.primera_practica.repository;
 
 import org.example.primera_practica.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,6 +9,7 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
 }
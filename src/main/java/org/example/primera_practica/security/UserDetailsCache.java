@@ -0,0 +1,82 @@
+package org.example.primera_practica.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the principals used for bearer-token requests, so a JWT hit does not query the user
+ * and its roles every time. Entries are stored without the password hash and are only read by
+ * {@link JwtAuthenticationFilter}; form login keeps going through the {@code UserDetailsService}.
+ * User changes evict the entry once their transaction commits.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final int maxEntries;
+    private final ConcurrentMap<String, UserDetails> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetailsCache(@Value("${security.user-cache.max-entries:1000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public UserDetails get(String username) {
+        return maxEntries > 0 ? entries.get(username) : null;
+    }
+
+    /**
+     * Read before loading a user; pass it to {@link #put} so a load that raced with an eviction is not cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(UserDetails userDetails, long observedGeneration) {
+        // Full: skip caching rather than evicting a principal that is still in use
+        if (maxEntries <= 0 || entries.size() >= maxEntries) {
+            return;
+        }
+        UserDetails cached = User.withUserDetails(userDetails).password("").build();
+        entries.put(userDetails.getUsername(), cached);
+        if (generation.get() != observedGeneration) {
+            entries.remove(userDetails.getUsername(), cached);
+        }
+    }
+
+    public void evict(String username) {
+        generation.incrementAndGet();
+        entries.remove(username);
+    }
+
+    /**
+     * Defers the eviction until the surrounding transaction commits, so a concurrent request cannot
+     * reload the old row and cache it again. Outside a transaction it runs immediately.
+     */
+    public void evictAfterCommit(String username) {
+        if (username == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(username);
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
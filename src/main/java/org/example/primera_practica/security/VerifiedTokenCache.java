@@ -0,0 +1,124 @@
+package org.example.primera_practica.security;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by a SHA-256 digest of the
+ * compact token so the raw tokens are not retained. Entries are dropped once their {@code exp} passes:
+ * lazily on lookup, and by a sweep when the cache is at its size limit and its earliest expiry has passed, so a
+ * full cache of live tokens costs a miss nothing beyond one read.
+ */
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final ConcurrentMap<TokenDigest, VerifiedToken> entries = new ConcurrentHashMap<>();
+    // No entry expires before this instant; may lag behind lookups that already dropped the entry
+    private final AtomicLong earliestExpiryMillis = new AtomicLong(Long.MAX_VALUE);
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public VerifiedToken get(String token, long nowMillis) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken verifiedToken = entries.get(digest);
+        if (verifiedToken == null) {
+            return null;
+        }
+        if (verifiedToken.getExpiresAtMillis() <= nowMillis) {
+            entries.remove(digest, verifiedToken);
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    public void put(String token, VerifiedToken verifiedToken, long nowMillis) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            long earliest = earliestExpiryMillis.get();
+            // Nothing can have expired yet, or another thread is already sweeping
+            if (nowMillis < earliest || !earliestExpiryMillis.compareAndSet(earliest, Long.MAX_VALUE)) {
+                return;
+            }
+            purgeExpired(nowMillis);
+            if (entries.size() >= maxEntries) {
+                // Full of live tokens: skip caching rather than evicting something still in use.
+                return;
+            }
+        }
+        entries.put(TokenDigest.of(token), verifiedToken);
+        earliestExpiryMillis.accumulateAndGet(verifiedToken.getExpiresAtMillis(), Math::min);
+    }
+
+    /**
+     * Drops the expired entries and records when the next one expires.
+     */
+    public void purgeExpired(long nowMillis) {
+        long[] earliest = {Long.MAX_VALUE};
+        entries.values().removeIf(verifiedToken -> {
+            if (verifiedToken.getExpiresAtMillis() <= nowMillis) {
+                return true;
+            }
+            earliest[0] = Math.min(earliest[0], verifiedToken.getExpiresAtMillis());
+            return false;
+        });
+        earliestExpiryMillis.accumulateAndGet(earliest[0], Math::min);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Value
+    public static class VerifiedToken {
+        String subject;
+        long expiresAtMillis;
+    }
+
+    private static final class TokenDigest {
+
+        private final byte[] value;
+        private final int hash;
+
+        private TokenDigest(byte[] value) {
+            this.value = value;
+            this.hash = Arrays.hashCode(value);
+        }
+
+        static TokenDigest of(String token) {
+            try {
+                MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+                return new TokenDigest(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TokenDigest digest && Arrays.equals(value, digest.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -7,5 +7,10 @@ public interface JwtService {
     String generateTokenForMock(String username, LocalDateTime mockExpirationDate);
     String extractUsername(String token);
     boolean validateToken(String token);
+
+    /**
+     * Verifies the token once and returns its subject, or {@code null} when it is invalid or expired.
+     */
+    String extractValidUsername(String token);
     boolean isTokenExpired(String token);
 }
@@ -1,19 +1,48 @@
 package org.example.primera_practica.service;
 
 import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockEndpointSummaryPageDTO;
+import org.example.primera_practica.dto.MockImportResultDTO;
+import org.example.primera_practica.dto.MockSummarySort;
 import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.runtime.MockBodyStore;
+import org.example.primera_practica.service.runtime.MockMatch;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MockEndpointService {
     MockEndpointDTO createMockEndpoint(MockEndpointDTO mockEndpointDTO, String username);
+
+    /**
+     * Creates a chunk of bean-validated mocks in {@code projectId} in one transaction. Definitions with a
+     * malformed latency profile, rate limit or variant condition, or whose route is already served in the
+     * project or earlier in the chunk, are skipped and reported instead.
+     */
+    MockImportResultDTO importMockEndpointsForUser(Long projectId, List<MockEndpointDTO> mockEndpointDTOs, String username);
     MockEndpointDTO getMockEndpointById(Long id);
     MockEndpointDTO getMockEndpointByIdForUser(Long id, String username);
     List<MockEndpointDTO> getAllMockEndpointsByProject(Long projectId);
     List<MockEndpointDTO> getAllMockEndpointsByProjectForUser(Long projectId, String username);
+
+    /**
+     * Keyset page of mock summaries ordered by {@code sort}, starting after the mock {@code afterId}
+     * (the first page when null). Page size is capped server-side.
+     */
+    MockEndpointSummaryPageDTO getMockEndpointSummariesForUser(Long projectId, MockSummarySort sort, Long afterId,
+                                                               int pageSize, String username);
     MockEndpointDTO updateMockEndpoint(Long id, MockEndpointDTO mockEndpointDTO);
     MockEndpointDTO updateMockEndpointForUser(Long id, MockEndpointDTO mockEndpointDTO, String username);
+    MockEndpointDTO attachStoredBodyForUser(Long id, MockBodyStore.StoredBody storedBody, String username);
     void deleteMockEndpoint(Long id);
     void deleteMockEndpointForUser(Long id, String username);
+
+    /**
+     * Deletes up to {@code batchSize} mocks that expired at or before {@code cutoff}, oldest first.
+     *
+     * @return the number of mocks deleted; fewer than {@code batchSize} means none are left
+     */
+    int purgeExpiredMocks(LocalDateTime cutoff, int batchSize);
     MockEndpointDTO findMockByProjectAndPathAndMethod(String projectName, String path, HttpMethod method);
+    MockMatch resolveMock(String projectName, String path, HttpMethod method);
 }
@@ -0,0 +1,10 @@
+package org.example.primera_practica.service;
+
+import org.example.primera_practica.dto.MockHitStatsDTO;
+import org.example.primera_practica.dto.MockMetricsDTO;
+
+public interface MockMetricsService {
+    MockMetricsDTO getMetrics();
+    MockHitStatsDTO getMockStats(Long mockId);
+    String getPrometheusMetrics();
+}
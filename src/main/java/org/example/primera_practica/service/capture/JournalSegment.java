@@ -0,0 +1,86 @@
+package org.example.primera_practica.service.capture;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One fixed-size, memory-mapped journal file. Writers reserve a region with a single atomic add and
+ * copy their record into it; the record's length prefix is stored last with release semantics, so a
+ * reader that sees a non-zero length also sees the whole payload.
+ */
+final class JournalSegment {
+
+    static final int LENGTH_PREFIX = Integer.BYTES;
+    private static final int ALIGNMENT = 8;
+    private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final int id;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicInteger writePosition;
+
+    private JournalSegment(int id, Path file, MappedByteBuffer buffer, int writePosition) {
+        this.id = id;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.writePosition = new AtomicInteger(writePosition);
+    }
+
+    static JournalSegment create(int id, Path file, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), 0);
+        }
+    }
+
+    static int recordSize(int payloadLength) {
+        int size = LENGTH_PREFIX + payloadLength;
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Claims room for a record, or returns -1 when the segment is full.
+     */
+    int reserve(int recordSize) {
+        int offset = writePosition.getAndAdd(recordSize);
+        return offset >= 0 && offset <= capacity - recordSize ? offset : -1;
+    }
+
+    void write(int offset, byte[] payload) {
+        buffer.put(offset + LENGTH_PREFIX, payload);
+        INT_VIEW.setRelease(buffer, offset, payload.length);
+    }
+
+    /**
+     * Payload of the record at {@code offset}, or null if it is not completely written.
+     */
+    byte[] read(int offset) {
+        if (offset < 0 || offset > capacity - LENGTH_PREFIX) {
+            return null;
+        }
+        int length = (int) INT_VIEW.getAcquire(buffer, offset);
+        if (length <= 0 || length > capacity - offset - LENGTH_PREFIX) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + LENGTH_PREFIX, payload);
+        return payload;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,405 @@
+package org.example.primera_practica.service.capture;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.primera_practica.dto.CapturedRequestDTO;
+import org.example.primera_practica.dto.CapturedRequestPageDTO;
+import org.example.primera_practica.dto.MockHeaderDTO;
+import org.example.primera_practica.service.runtime.MocksDeletedEvent;
+import org.example.primera_practica.util.CachedRequestBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of requests received by mocks that have request capture enabled. Records go into
+ * fixed-size memory-mapped segment files. Segment files left by a previous run are deleted on startup:
+ * the database is in memory, so mock ids start over and old records would be listed under new mocks.
+ * When the total size exceeds {@code mock.capture.retention-size} the oldest segment file is deleted. A
+ * per-mock index of record positions serves newest-first pages without scanning the journal; it is
+ * dropped when the mock is deleted.
+ */
+@Component
+public class RequestJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{10})\\.journal");
+    private static final String REDACTED = "(redacted)";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int maxBodyBytes;
+    private final ConcurrentSkipListMap<Integer, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, MockIndex> indexes = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile JournalSegment current;
+
+    public RequestJournal(@Value("${mock.capture.directory:${java.io.tmpdir}/primera-practica/requests}") String directory,
+                          @Value("${mock.capture.segment-size:16777216}") int segmentSize,
+                          @Value("${mock.capture.retention-size:268435456}") long retentionSize,
+                          @Value("${mock.capture.max-body-bytes:65536}") int maxBodyBytes) {
+        this.directory = Path.of(directory).toAbsolutePath();
+        this.segmentSize = Math.max(64 * 1024, segmentSize);
+        this.maxSegments = (int) Math.max(2, retentionSize / this.segmentSize);
+        // Leaves room for the request line and headers, so a record always fits in a segment
+        this.maxBodyBytes = Math.clamp(maxBodyBytes, 0, this.segmentSize / 2);
+        deleteSegmentsOfPreviousRun();
+    }
+
+    /**
+     * Records {@code request} against {@code mockId}, reading at most {@code mock.capture.max-body-bytes}
+     * of its body. Failures are logged and never reach the caller.
+     */
+    public void capture(long mockId, HttpServletRequest request) {
+        byte[] payload;
+        try {
+            payload = encode(mockId, request);
+        } catch (IOException e) {
+            logger.debug("Could not read request for mock {}: {}", mockId, e.getMessage());
+            dropped.increment();
+            return;
+        }
+        append(mockId, payload);
+    }
+
+    /**
+     * Newest-first page of requests captured for {@code mockId}, older than the cursor {@code before}
+     * (the newest when null). Page size is capped at 100.
+     */
+    public CapturedRequestPageDTO page(long mockId, Long before, int pageSize) {
+        int size = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+        MockIndex index = indexes.get(mockId);
+        if (index == null) {
+            return new CapturedRequestPageDTO(mockId, List.of(), null);
+        }
+        long[] positions = index.before(before != null ? before : Long.MAX_VALUE, size + 1);
+        List<CapturedRequestDTO> items = new ArrayList<>(Math.min(positions.length, size));
+        int examined = 0;
+        while (examined < positions.length && items.size() < size) {
+            // Null when the segment was deleted after the positions were copied
+            CapturedRequestDTO request = read(positions[examined++]);
+            if (request != null) {
+                items.add(request);
+            }
+        }
+        Long nextBefore = examined < positions.length ? positions[examined - 1] : null;
+        return new CapturedRequestPageDTO(mockId, items, nextBefore);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Forgets the requests of deleted mocks; their records stay in the segments until retention removes them.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMocksDeleted(MocksDeletedEvent event) {
+        indexes.keySet().removeAll(event.getMockIds());
+    }
+
+    /**
+     * Reserves room with one atomic add and copies the record in. Only the writer that finds the segment
+     * full takes a lock, to roll to the next one.
+     */
+    long append(long mockId, byte[] payload) {
+        int recordSize = JournalSegment.recordSize(payload.length);
+        if (recordSize > segmentSize) {
+            dropped.increment();
+            return -1;
+        }
+        while (true) {
+            JournalSegment segment = current;
+            if (segment != null) {
+                int offset = segment.reserve(recordSize);
+                if (offset >= 0) {
+                    segment.write(offset, payload);
+                    long position = position(segment.getId(), offset);
+                    MockIndex index = indexes.get(mockId);
+                    if (index == null) {
+                        index = indexes.computeIfAbsent(mockId, id -> new MockIndex());
+                    }
+                    index.add(position);
+                    return position;
+                }
+            }
+            if (!roll(segment)) {
+                dropped.increment();
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Replaces {@code full} with a fresh segment and deletes the oldest files past the retention size.
+     * Runs once per segment; concurrent writers that also found it full just retry on the new one.
+     */
+    private synchronized boolean roll(JournalSegment full) {
+        if (current != full) {
+            return true;
+        }
+        int id = full != null ? full.getId() + 1 : segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        try {
+            Files.createDirectories(directory);
+            JournalSegment next = JournalSegment.create(id, segmentFile(id), segmentSize);
+            segments.put(id, next);
+            current = next;
+        } catch (IOException e) {
+            logger.warn("Could not create request journal segment in {}: {}", directory, e.getMessage());
+            return false;
+        }
+        enforceRetention();
+        return true;
+    }
+
+    private void enforceRetention() {
+        boolean deleted = false;
+        while (segments.size() > maxSegments) {
+            JournalSegment oldest = segments.pollFirstEntry().getValue();
+            deleted = true;
+            try {
+                // Readers still holding the segment keep a valid mapping until it is collected
+                Files.deleteIfExists(oldest.getFile());
+            } catch (IOException e) {
+                logger.warn("Could not delete request journal segment {}: {}", oldest.getFile(), e.getMessage());
+            }
+        }
+        if (deleted) {
+            long oldestPosition = position(segments.firstKey(), 0);
+            // Emptied indexes stay until their mock is deleted, so a concurrent add is never lost
+            for (MockIndex index : indexes.values()) {
+                index.prune(oldestPosition);
+            }
+        }
+    }
+
+    private void deleteSegmentsOfPreviousRun() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                if (SEGMENT_NAME.matcher(file.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clear request journal in " + directory, e);
+        }
+    }
+
+    private CapturedRequestDTO read(long position) {
+        JournalSegment segment = segments.get(segmentId(position));
+        byte[] payload = segment != null ? segment.read(offset(position)) : null;
+        if (payload == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        CapturedRequestDTO request = new CapturedRequestDTO();
+        request.setId(position);
+        request.setMockId(buffer.getLong());
+        request.setReceivedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneId.systemDefault()));
+        request.setMethod(readString(buffer));
+        request.setPath(readString(buffer));
+        request.setQuery(readString(buffer));
+        request.setRemoteAddress(readString(buffer));
+        int headerCount = buffer.getInt();
+        List<MockHeaderDTO> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new MockHeaderDTO(null, readString(buffer), readString(buffer)));
+        }
+        request.setHeaders(headers);
+        request.setBodySize(buffer.getLong());
+        request.setBodyTruncated(buffer.get() != 0);
+        request.setBody(readString(buffer));
+        return request;
+    }
+
+    private byte[] encode(long mockId, HttpServletRequest request) throws IOException {
+        RecordWriter writer = new RecordWriter(512);
+        writer.putLong(mockId);
+        writer.putLong(System.currentTimeMillis());
+        writer.putString(request.getMethod());
+        writer.putString(request.getRequestURI());
+        writer.putString(request.getQueryString());
+        writer.putString(request.getRemoteAddr());
+
+        List<String> headers = new ArrayList<>();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names != null && names.hasMoreElements()) {
+            String name = names.nextElement();
+            Enumeration<String> values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                headers.add(name);
+                headers.add(redact(name, values.nextElement()));
+            }
+        }
+        writer.putInt(headers.size() / 2);
+        for (String value : headers) {
+            writer.putString(value);
+        }
+
+        // One extra byte tells whether the body was cut; the body stays readable for variant matching
+        byte[] body = CachedRequestBody.read(request, maxBodyBytes + 1);
+        boolean truncated = body.length > maxBodyBytes;
+        long declaredLength = request.getContentLengthLong();
+        writer.putLong(declaredLength >= 0 ? declaredLength : body.length);
+        writer.put((byte) (truncated ? 1 : 0));
+        writer.putBytes(body, truncated ? maxBodyBytes : body.length);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Credentials are not written to disk; the scheme is kept so auth problems remain visible.
+     */
+    private static String redact(String name, String value) {
+        if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) || HttpHeaders.PROXY_AUTHORIZATION.equalsIgnoreCase(name)) {
+            int space = value.indexOf(' ');
+            return space > 0 ? value.substring(0, space + 1) + REDACTED : REDACTED;
+        }
+        if (HttpHeaders.COOKIE.equalsIgnoreCase(name)) {
+            return REDACTED;
+        }
+        return value;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private Path segmentFile(int id) {
+        return directory.resolve(String.format("segment-%010d.journal", id));
+    }
+
+    static long position(int segmentId, int offset) {
+        return ((long) segmentId << 32) | offset;
+    }
+
+    private static int segmentId(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offset(long position) {
+        return (int) position;
+    }
+
+    /**
+     * Growable byte array with the big-endian layout {@link ByteBuffer} reads back.
+     */
+    private static final class RecordWriter {
+        private byte[] bytes;
+        private int size;
+
+        RecordWriter(int initialCapacity) {
+            this.bytes = new byte[initialCapacity];
+        }
+
+        void put(byte value) {
+            ensure(1);
+            bytes[size++] = value;
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            putBytes(encoded, encoded.length);
+        }
+
+        void putBytes(byte[] value, int length) {
+            putInt(length);
+            ensure(length);
+            System.arraycopy(value, 0, bytes, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Sorted record positions of one mock, in a lock-free skip list: a writer that reserved earlier but
+     * finished later is slotted into order without blocking readers or other writers.
+     */
+    static final class MockIndex {
+        private final ConcurrentSkipListSet<Long> positions = new ConcurrentSkipListSet<>();
+
+        void add(long position) {
+            positions.add(position);
+        }
+
+        /**
+         * Drops positions below {@code oldestPosition}.
+         */
+        void prune(long oldestPosition) {
+            positions.headSet(oldestPosition).clear();
+        }
+
+        /**
+         * Up to {@code limit} positions lower than {@code cursor}, newest first.
+         */
+        long[] before(long cursor, int limit) {
+            long[] result = new long[limit];
+            int count = 0;
+            Iterator<Long> newestFirst = positions.headSet(cursor).descendingIterator();
+            while (count < limit && newestFirst.hasNext()) {
+                result[count++] = newestFirst.next();
+            }
+            return count == limit ? result : Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.example.primera_practica.service.impl;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.example.primera_practica.security.VerifiedTokenCache;
+import org.example.primera_practica.security.VerifiedTokenCache.VerifiedToken;
 import org.example.primera_practica.service.JwtService;
 import org.example.primera_practica.service.logging.JwtTokenLogger;
 import org.springframework.beans.factory.ObjectProvider;
@@ -17,20 +20,21 @@ import java.util.Date;
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
-
     private final ObjectProvider<JwtTokenLogger> jwtTokenLoggerProvider;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtServiceImpl(ObjectProvider<JwtTokenLogger> jwtTokenLoggerProvider) {
+    public JwtServiceImpl(ObjectProvider<JwtTokenLogger> jwtTokenLoggerProvider,
+                          @Value("${jwt.secret}") String secret,
+                          @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries) {
         this.jwtTokenLoggerProvider = jwtTokenLoggerProvider;
-    }
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        // Key and parser are immutable and thread-safe, so they are built once instead of per call.
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(cacheMaxEntries);
     }
 
     @Override
@@ -41,7 +45,7 @@ public class JwtServiceImpl implements JwtService {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(expiry)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
 
         JwtTokenLogger logger = jwtTokenLoggerProvider.getIfAvailable();
@@ -59,17 +63,22 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        VerifiedToken cached = verifiedTokenCache.get(token, System.currentTimeMillis());
+        if (cached != null) {
+            return cached.getSubject();
+        }
+        return verify(token).getSubject();
     }
 
     @Override
     public boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return findValidToken(token) != null;
+    }
+
+    @Override
+    public String extractValidUsername(String token) {
+        VerifiedToken verifiedToken = findValidToken(token);
+        return verifiedToken != null ? verifiedToken.getSubject() : null;
     }
 
     @Override
@@ -77,11 +86,40 @@ public class JwtServiceImpl implements JwtService {
         return extractAllClaims(token).getExpiration().before(new Date());
     }
 
+    /**
+     * The token from the cache, or verified and cached; {@code null} if it is invalid or expired.
+     */
+    private VerifiedToken findValidToken(String token) {
+        try {
+            long now = System.currentTimeMillis();
+            VerifiedToken verifiedToken = verifiedTokenCache.get(token, now);
+            if (verifiedToken == null) {
+                verifiedToken = verify(token);
+            }
+            return verifiedToken.getExpiresAtMillis() > now ? verifiedToken : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the token once (signature, then {@code exp}, which the parser already enforces) and caches it.
+     */
+    private VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new IllegalArgumentException("JWT token has no expiration");
+        }
+        long now = System.currentTimeMillis();
+        VerifiedToken verifiedToken = new VerifiedToken(claims.getSubject(), expiration.getTime());
+        if (verifiedToken.getExpiresAtMillis() > now) {
+            verifiedTokenCache.put(token, verifiedToken, now);
+        }
+        return verifiedToken;
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 }
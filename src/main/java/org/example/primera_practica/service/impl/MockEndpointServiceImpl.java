@@ -1,40 +1,82 @@
 package org.example.primera_practica.service.impl;
 
 import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockEndpointSummaryDTO;
+import org.example.primera_practica.dto.MockEndpointSummaryPageDTO;
 import org.example.primera_practica.dto.MockHeaderDTO;
+import org.example.primera_practica.dto.MockImportResultDTO;
+import org.example.primera_practica.dto.MockSummarySort;
+import org.example.primera_practica.dto.MockVariantDTO;
+import org.example.primera_practica.exception.DuplicateResourceException;
 import org.example.primera_practica.exception.ResourceNotFoundException;
 import org.example.primera_practica.model.*;
 import org.example.primera_practica.repository.MockEndpointRepository;
+import org.example.primera_practica.repository.MockHeaderRepository;
+import org.example.primera_practica.repository.MockVariantRepository;
 import org.example.primera_practica.repository.ProjectRepository;
 import org.example.primera_practica.repository.UserRepository;
 import org.example.primera_practica.service.JwtService;
 import org.springframework.security.access.AccessDeniedException;
 import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.runtime.CompiledMock;
+import org.example.primera_practica.service.runtime.LatencyProfile;
+import org.example.primera_practica.service.runtime.MockBodyStore;
+import org.example.primera_practica.service.runtime.MockMatch;
+import org.example.primera_practica.service.runtime.MockRouteTable;
+import org.example.primera_practica.service.runtime.MocksDeletedEvent;
+import org.example.primera_practica.service.runtime.PathTemplateMatcher;
+import org.example.primera_practica.service.runtime.RateLimit;
+import org.example.primera_practica.service.runtime.VariantCondition;
 import org.example.primera_practica.util.PathNormalizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class MockEndpointServiceImpl implements MockEndpointService {
 
+    private static final int MAX_SUMMARY_PAGE_SIZE = 200;
+
     private final MockEndpointRepository mockEndpointRepository;
+    private final MockHeaderRepository mockHeaderRepository;
+    private final MockVariantRepository mockVariantRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final MockRouteTable mockRouteTable;
+    private final MockBodyStore mockBodyStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MockEndpointServiceImpl(MockEndpointRepository mockEndpointRepository, 
+                                   MockHeaderRepository mockHeaderRepository,
+                                   MockVariantRepository mockVariantRepository,
                                    ProjectRepository projectRepository, 
                                    UserRepository userRepository,
-                                   JwtService jwtService) {
+                                   JwtService jwtService,
+                                   MockRouteTable mockRouteTable,
+                                   MockBodyStore mockBodyStore,
+                                   ApplicationEventPublisher eventPublisher) {
         this.mockEndpointRepository = mockEndpointRepository;
+        this.mockHeaderRepository = mockHeaderRepository;
+        this.mockVariantRepository = mockVariantRepository;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.mockRouteTable = mockRouteTable;
+        this.mockBodyStore = mockBodyStore;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -45,43 +87,66 @@ public class MockEndpointServiceImpl implements MockEndpointService {
         Project project = projectRepository.findById(mockEndpointDTO.getProjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + mockEndpointDTO.getProjectId()));
 
-        MockEndpoint mockEndpoint = new MockEndpoint();
-        mockEndpoint.setName(mockEndpointDTO.getName());
-        mockEndpoint.setDescription(mockEndpointDTO.getDescription());
-        mockEndpoint.setPath(PathNormalizer.normalizePath(mockEndpointDTO.getPath()));
-        mockEndpoint.setMethod(mockEndpointDTO.getMethod());
-        mockEndpoint.setHttpStatusCode(mockEndpointDTO.getHttpStatusCode());
-        mockEndpoint.setContentType(mockEndpointDTO.getContentType());
-        mockEndpoint.setResponseBody(mockEndpointDTO.getResponseBody());
         MockExpirationOption expirationOption = resolveExpirationOptionOrDefault(mockEndpointDTO.getExpirationOption());
         LocalDateTime expirationDate = LocalDateTime.now().plus(expirationOption.getDuration());
-        mockEndpoint.setExpirationDate(expirationDate);
-        mockEndpoint.setDelaySeconds(mockEndpointDTO.getDelaySeconds());
-        mockEndpoint.setRequiresJwt(mockEndpointDTO.getRequiresJwt());
-        mockEndpoint.setCreatedBy(user);
-        mockEndpoint.setProject(project);
+        MockEndpoint mockEndpoint = newMockEndpoint(mockEndpointDTO, user, project, expirationDate);
+        rejectConflictingRoutes(project, List.of(mockEndpoint));
 
         if (Boolean.TRUE.equals(mockEndpointDTO.getRequiresJwt())) {
             mockEndpoint.setGeneratedJwt(jwtService.generateToken(user.getUsername(), expirationDate));
         }
 
-        if (mockEndpointDTO.getHeaders() != null && !mockEndpointDTO.getHeaders().isEmpty()) {
-            List<MockHeader> headers = mockEndpointDTO.getHeaders().stream()
-                    .map(headerDTO -> {
-                        MockHeader header = new MockHeader();
-                        header.setHeaderKey(headerDTO.getHeaderKey());
-                        header.setHeaderValue(headerDTO.getHeaderValue());
-                        header.setMockEndpoint(mockEndpoint);
-                        return header;
-                    })
-                    .collect(Collectors.toList());
-            mockEndpoint.setHeaders(headers);
-        }
-
         MockEndpoint savedMockEndpoint = mockEndpointRepository.save(mockEndpoint);
+        mockRouteTable.invalidateProjectAfterCommit(project.getName());
         return convertToDTO(savedMockEndpoint);
     }
 
+    @Override
+    public MockImportResultDTO importMockEndpointsForUser(Long projectId, List<MockEndpointDTO> mockEndpointDTOs,
+                                                          String username) {
+        User user = findUserByUsername(username);
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        validateProjectAccess(project, username);
+        Map<Integer, String> rejected = new LinkedHashMap<>();
+        if (mockEndpointDTOs.isEmpty()) {
+            return new MockImportResultDTO(0, rejected);
+        }
+
+        // One clock reading per chunk, so every mock with the same expiration option shares one token
+        LocalDateTime now = LocalDateTime.now();
+        Map<MockExpirationOption, String> tokensByExpiration = new EnumMap<>(MockExpirationOption.class);
+        // Earlier chunks are committed by now, so this also covers the rest of the import
+        Map<String, String> takenRoutes = liveRoutes(project, List.of());
+        List<MockEndpoint> mockEndpoints = new ArrayList<>(mockEndpointDTOs.size());
+        for (int i = 0; i < mockEndpointDTOs.size(); i++) {
+            MockEndpointDTO mockEndpointDTO = mockEndpointDTOs.get(i);
+            MockEndpoint mockEndpoint;
+            try {
+                MockExpirationOption expirationOption = resolveExpirationOptionOrDefault(mockEndpointDTO.getExpirationOption());
+                LocalDateTime expirationDate = now.plus(expirationOption.getDuration());
+                mockEndpoint = newMockEndpoint(mockEndpointDTO, user, project, expirationDate);
+                claimRoute(takenRoutes, mockEndpoint);
+                if (Boolean.TRUE.equals(mockEndpointDTO.getRequiresJwt())) {
+                    mockEndpoint.setGeneratedJwt(tokensByExpiration.computeIfAbsent(expirationOption,
+                            option -> jwtService.generateToken(user.getUsername(), expirationDate)));
+                }
+            } catch (IllegalArgumentException | DuplicateResourceException e) {
+                rejected.put(i, e.getMessage());
+                continue;
+            }
+            mockEndpoints.add(mockEndpoint);
+        }
+        if (mockEndpoints.isEmpty()) {
+            return new MockImportResultDTO(0, rejected);
+        }
+
+        // Sequence ids are assigned without a round-trip, so the inserts are sent as JDBC batches on flush
+        mockEndpointRepository.saveAll(mockEndpoints);
+        mockRouteTable.invalidateProjectAfterCommit(project.getName());
+        return new MockImportResultDTO(mockEndpoints.size(), rejected);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MockEndpointDTO getMockEndpointById(Long id) {
@@ -117,11 +182,52 @@ public class MockEndpointServiceImpl implements MockEndpointService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public MockEndpointSummaryPageDTO getMockEndpointSummariesForUser(Long projectId, MockSummarySort sort, Long afterId,
+                                                                      int pageSize, String username) {
+        Project project = findProjectById(projectId);
+        validateProjectAccess(project, username);
+
+        // The cursor is the last row's id; its sort key is read back so the URL stays a plain number
+        MockEndpointSummaryDTO cursor = afterId != null
+                ? mockEndpointRepository.findSummary(projectId, afterId).orElse(null)
+                : null;
+        Long cursorId = cursor != null ? cursor.getId() : null;
+        int size = Math.clamp(pageSize, 1, MAX_SUMMARY_PAGE_SIZE);
+        // One extra row tells whether there is a next page without a count query
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<MockEndpointSummaryDTO> rows = switch (sort) {
+            case NAME -> mockEndpointRepository.findSummariesByName(
+                    projectId, cursor != null ? cursor.getName() : null, cursorId, limit);
+            case PATH -> mockEndpointRepository.findSummariesByPath(
+                    projectId, cursor != null ? cursor.getPath() : null, cursorId, limit);
+            case EXPIRATION -> mockEndpointRepository.findSummariesByExpiration(
+                    projectId, cursor != null ? cursor.getExpirationDate() : null, cursorId, limit);
+        };
+
+        boolean hasNext = rows.size() > size;
+        List<MockEndpointSummaryDTO> items = hasNext ? rows.subList(0, size) : rows;
+        Long nextAfterId = hasNext ? items.get(items.size() - 1).getId() : null;
+        return new MockEndpointSummaryPageDTO(project.getId(), project.getName(), sort, items, nextAfterId);
+    }
+
     @Override
     public MockEndpointDTO updateMockEndpoint(Long id, MockEndpointDTO mockEndpointDTO) {
+        return applyUpdate(findMockEndpointById(id), mockEndpointDTO);
+    }
+
+    @Override
+    public MockEndpointDTO updateMockEndpointForUser(Long id, MockEndpointDTO mockEndpointDTO, String username) {
         MockEndpoint mockEndpoint = findMockEndpointById(id);
+        validateProjectAccess(mockEndpoint.getProject(), username);
+        return applyUpdate(mockEndpoint, mockEndpointDTO);
+    }
 
+    private MockEndpointDTO applyUpdate(MockEndpoint mockEndpoint, MockEndpointDTO mockEndpointDTO) {
         boolean shouldRegenerateToken = false;
+        String previousRoute = routeKey(mockEndpoint.getMethod(), mockEndpoint.getPath());
 
         if (mockEndpointDTO.getName() != null) {
             mockEndpoint.setName(mockEndpointDTO.getName());
@@ -135,14 +241,19 @@ public class MockEndpointServiceImpl implements MockEndpointService {
         if (mockEndpointDTO.getMethod() != null) {
             mockEndpoint.setMethod(mockEndpointDTO.getMethod());
         }
+        if (!routeKey(mockEndpoint.getMethod(), mockEndpoint.getPath()).equals(previousRoute)) {
+            rejectConflictingRoutes(mockEndpoint.getProject(), List.of(mockEndpoint));
+        }
         if (mockEndpointDTO.getHttpStatusCode() != null) {
             mockEndpoint.setHttpStatusCode(mockEndpointDTO.getHttpStatusCode());
         }
         if (mockEndpointDTO.getContentType() != null) {
             mockEndpoint.setContentType(mockEndpointDTO.getContentType());
         }
-        if (mockEndpointDTO.getResponseBody() != null) {
-            mockEndpoint.setResponseBody(mockEndpointDTO.getResponseBody());
+        // The edit form cannot show a stored body, so leaving the field empty keeps it.
+        if (mockEndpointDTO.getResponseBody() != null
+                && !(mockEndpoint.getBodyKey() != null && mockEndpointDTO.getResponseBody().isEmpty())) {
+            applyResponseBody(mockEndpoint, mockEndpointDTO.getResponseBody());
         }
         MockExpirationOption expirationOption = resolveExpirationOption(mockEndpointDTO.getExpirationOption());
         if (expirationOption != null) {
@@ -152,8 +263,8 @@ public class MockEndpointServiceImpl implements MockEndpointService {
             }
             mockEndpoint.setExpirationDate(expirationDate);
         }
-        if (mockEndpointDTO.getDelaySeconds() != null) {
-            mockEndpoint.setDelaySeconds(mockEndpointDTO.getDelaySeconds());
+        if (mockEndpointDTO.getDelayMillis() != null || mockEndpointDTO.getDelaySeconds() != null) {
+            applyDelay(mockEndpoint, mockEndpointDTO);
         }
         if (mockEndpointDTO.getRequiresJwt() != null) {
             if (!mockEndpointDTO.getRequiresJwt().equals(mockEndpoint.getRequiresJwt())) {
@@ -161,6 +272,20 @@ public class MockEndpointServiceImpl implements MockEndpointService {
             }
             mockEndpoint.setRequiresJwt(mockEndpointDTO.getRequiresJwt());
         }
+        if (mockEndpointDTO.getCaptureRequests() != null) {
+            mockEndpoint.setCaptureRequests(mockEndpointDTO.getCaptureRequests());
+        }
+        if (mockEndpointDTO.getTemplated() != null) {
+            mockEndpoint.setTemplated(mockEndpointDTO.getTemplated());
+        }
+        if (mockEndpointDTO.getLatencyProfile() != null) {
+            // A blank profile clears it
+            mockEndpoint.setLatencyProfile(LatencyProfile.normalize(mockEndpointDTO.getLatencyProfile()));
+        }
+        if (mockEndpointDTO.getRateLimit() != null) {
+            // A blank limit clears it
+            mockEndpoint.setRateLimit(RateLimit.normalize(mockEndpointDTO.getRateLimit()));
+        }
 
         if (mockEndpointDTO.getHeaders() != null) {
             mockEndpoint.getHeaders().clear();
@@ -175,6 +300,15 @@ public class MockEndpointServiceImpl implements MockEndpointService {
                     .collect(Collectors.toList());
             mockEndpoint.getHeaders().addAll(headers);
         }
+        if (mockEndpointDTO.getVariants() != null) {
+            mockEndpoint.getVariants().clear();
+            mockEndpoint.getVariants().addAll(toVariants(mockEndpointDTO.getVariants(), mockEndpoint));
+        }
+        // Headers and variants live in their own tables, so @PreUpdate never sees them change and
+        // Last-Modified would keep the previous date.
+        if (mockEndpointDTO.getHeaders() != null || mockEndpointDTO.getVariants() != null) {
+            mockEndpoint.setUpdatedAt(LocalDateTime.now());
+        }
 
         if (Boolean.TRUE.equals(mockEndpoint.getRequiresJwt())) {
             if (shouldRegenerateToken || mockEndpoint.getGeneratedJwt() == null) {
@@ -187,20 +321,35 @@ public class MockEndpointServiceImpl implements MockEndpointService {
         }
 
         MockEndpoint updatedMockEndpoint = mockEndpointRepository.save(mockEndpoint);
+        mockRouteTable.invalidateProjectAfterCommit(mockEndpoint.getProject().getName());
         return convertToDTO(updatedMockEndpoint);
     }
 
     @Override
-    public MockEndpointDTO updateMockEndpointForUser(Long id, MockEndpointDTO mockEndpointDTO, String username) {
+    public MockEndpointDTO attachStoredBodyForUser(Long id, MockBodyStore.StoredBody storedBody, String username) {
         MockEndpoint mockEndpoint = findMockEndpointById(id);
         validateProjectAccess(mockEndpoint.getProject(), username);
-        return updateMockEndpoint(id, mockEndpointDTO);
+
+        String previousKey = mockEndpoint.getBodyKey();
+        mockEndpoint.setResponseBody(null);
+        mockEndpoint.setBodyKey(storedBody.getKey());
+        mockEndpoint.setBodySize(storedBody.getSize());
+        if (previousKey != null && !previousKey.equals(storedBody.getKey())) {
+            mockBodyStore.releaseAfterCommit(previousKey);
+        }
+
+        MockEndpoint updatedMockEndpoint = mockEndpointRepository.save(mockEndpoint);
+        mockRouteTable.invalidateProjectAfterCommit(mockEndpoint.getProject().getName());
+        return convertToDTO(updatedMockEndpoint);
     }
 
     @Override
     public void deleteMockEndpoint(Long id) {
         MockEndpoint mockEndpoint = findMockEndpointById(id);
         mockEndpointRepository.delete(mockEndpoint);
+        mockRouteTable.invalidateProjectAfterCommit(mockEndpoint.getProject().getName());
+        mockBodyStore.releaseAfterCommit(mockEndpoint.getBodyKey());
+        eventPublisher.publishEvent(new MocksDeletedEvent(List.of(mockEndpoint.getId())));
     }
 
     @Override
@@ -208,6 +357,34 @@ public class MockEndpointServiceImpl implements MockEndpointService {
         MockEndpoint mockEndpoint = findMockEndpointById(id);
         validateProjectAccess(mockEndpoint.getProject(), username);
         mockEndpointRepository.delete(mockEndpoint);
+        mockRouteTable.invalidateProjectAfterCommit(mockEndpoint.getProject().getName());
+        mockBodyStore.releaseAfterCommit(mockEndpoint.getBodyKey());
+        eventPublisher.publishEvent(new MocksDeletedEvent(List.of(mockEndpoint.getId())));
+    }
+
+    @Override
+    public int purgeExpiredMocks(LocalDateTime cutoff, int batchSize) {
+        List<MockEndpointRepository.ExpiredMock> expired =
+                mockEndpointRepository.findExpired(cutoff, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = expired.stream().map(MockEndpointRepository.ExpiredMock::getId).toList();
+        // Bulk statements instead of loading every mock and cascading to its headers and variants one by one
+        mockHeaderRepository.deleteAllByMockEndpointIdIn(ids);
+        mockVariantRepository.deleteAllByMockEndpointIdIn(ids);
+        int deleted = mockEndpointRepository.deleteAllByIdIn(ids);
+
+        for (MockEndpointRepository.ExpiredMock mock : expired) {
+            mockBodyStore.releaseAfterCommit(mock.getBodyKey());
+        }
+        expired.stream()
+                .map(MockEndpointRepository.ExpiredMock::getProjectName)
+                .distinct()
+                .forEach(mockRouteTable::invalidateProjectAfterCommit);
+        eventPublisher.publishEvent(new MocksDeletedEvent(ids));
+        return deleted;
     }
 
     @Override
@@ -220,6 +397,18 @@ public class MockEndpointServiceImpl implements MockEndpointService {
         return convertToDTO(mockEndpoint);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MockMatch resolveMock(String projectName, String path, HttpMethod method) {
+        MockMatch match = mockRouteTable.find(projectName, method, path);
+        if (match == null) {
+            throw new ResourceNotFoundException(
+                    String.format("MockEndpoint not found with projectName: %s, path: %s, method: %s",
+                            projectName, path, method));
+        }
+        return match;
+    }
+
     private User findUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
@@ -230,18 +419,20 @@ public class MockEndpointServiceImpl implements MockEndpointService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
     }
 
+    // Fetches everything convertToDTO and validateProjectAccess touch in the same select
     private MockEndpoint findMockEndpointById(Long id) {
-        return mockEndpointRepository.findById(id)
+        return mockEndpointRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MockEndpoint not found with id: " + id));
     }
 
     private void validateProjectAccess(Project project, String username) {
-        User user = findUserByUsername(username);
-        if (isAdmin(user)) {
+        // The owner is already loaded with the project; only other users need their roles read
+        if (project.getCreatedBy().getUsername().equals(username)) {
             return;
         }
 
-        if (!project.getCreatedBy().getUsername().equals(username)) {
+        User user = findUserByUsername(username);
+        if (!isAdmin(user)) {
             throw new AccessDeniedException(
                     String.format("User %s is not authorized to access project %d", username, project.getId()));
         }
@@ -262,14 +453,23 @@ public class MockEndpointServiceImpl implements MockEndpointService {
         dto.setHttpStatusCode(mockEndpoint.getHttpStatusCode());
         dto.setContentType(mockEndpoint.getContentType());
         dto.setResponseBody(mockEndpoint.getResponseBody());
+        dto.setStoredBodySize(mockEndpoint.getBodyKey() != null ? mockEndpoint.getBodySize() : null);
         dto.setExpirationDate(mockEndpoint.getExpirationDate());
         dto.setDelaySeconds(mockEndpoint.getDelaySeconds());
+        dto.setDelayMillis(mockEndpoint.getDelayMillis() != null || mockEndpoint.getDelaySeconds() != null
+                ? (int) mockEndpoint.getEffectiveDelayMillis()
+                : null);
         dto.setRequiresJwt(mockEndpoint.getRequiresJwt());
+        dto.setCaptureRequests(Boolean.TRUE.equals(mockEndpoint.getCaptureRequests()));
+        dto.setTemplated(Boolean.TRUE.equals(mockEndpoint.getTemplated()));
+        dto.setLatencyProfile(mockEndpoint.getLatencyProfile());
+        dto.setRateLimit(mockEndpoint.getRateLimit());
         dto.setGeneratedJwt(mockEndpoint.getGeneratedJwt());
         dto.setCreatedBy(mockEndpoint.getCreatedBy().getUsername());
         dto.setProjectId(mockEndpoint.getProject().getId());
         dto.setProjectName(mockEndpoint.getProject().getName());
         dto.setCreatedAt(mockEndpoint.getCreatedAt());
+        dto.setUpdatedAt(mockEndpoint.getUpdatedAt());
 
         if (mockEndpoint.getHeaders() != null && !mockEndpoint.getHeaders().isEmpty()) {
             List<MockHeaderDTO> headerDTOs = mockEndpoint.getHeaders().stream()
@@ -283,10 +483,157 @@ public class MockEndpointServiceImpl implements MockEndpointService {
                     .collect(Collectors.toList());
             dto.setHeaders(headerDTOs);
         }
+        if (mockEndpoint.getVariants() != null && !mockEndpoint.getVariants().isEmpty()) {
+            List<MockVariantDTO> variantDTOs = mockEndpoint.getVariants().stream()
+                    .map(variant -> {
+                        MockVariantDTO variantDTO = new MockVariantDTO();
+                        variantDTO.setId(variant.getId());
+                        variantDTO.setPriority(variant.getPriority());
+                        variantDTO.setConditions(variant.getConditions());
+                        variantDTO.setHttpStatusCode(variant.getHttpStatusCode());
+                        variantDTO.setResponseBody(variant.getResponseBody());
+                        return variantDTO;
+                    })
+                    .collect(Collectors.toList());
+            dto.setVariants(variantDTOs);
+        }
 
         return dto;
     }
 
+    /**
+     * Templates differing only in variable names ({@code /users/{id}} and {@code /users/{other}}) match the same
+     * requests, and the route table would only ever serve the first; reject the newcomer instead. Expired mocks
+     * are no longer routed, so they do not block their route.
+     */
+    private void rejectConflictingRoutes(Project project, List<MockEndpoint> mockEndpoints) {
+        Map<String, String> takenRoutes = liveRoutes(project, mockEndpoints);
+        for (MockEndpoint mockEndpoint : mockEndpoints) {
+            claimRoute(takenRoutes, mockEndpoint);
+        }
+    }
+
+    /**
+     * Names of the project's live mocks by route key, leaving out the mocks about to be replaced.
+     */
+    private Map<String, String> liveRoutes(Project project, List<MockEndpoint> replaced) {
+        Map<String, String> takenRoutes = new HashMap<>();
+        for (MockEndpointRepository.LiveRoute route
+                : mockEndpointRepository.findLiveRoutesByProjectId(project.getId(), LocalDateTime.now())) {
+            boolean isReplaced = replaced.stream().anyMatch(mock -> route.getId().equals(mock.getId()));
+            if (!isReplaced) {
+                takenRoutes.putIfAbsent(routeKey(route.getMethod(), route.getPath()), route.getName());
+            }
+        }
+        return takenRoutes;
+    }
+
+    private static void claimRoute(Map<String, String> takenRoutes, MockEndpoint mockEndpoint) {
+        String takenBy = takenRoutes.putIfAbsent(routeKey(mockEndpoint.getMethod(), mockEndpoint.getPath()),
+                mockEndpoint.getName());
+        if (takenBy != null) {
+            throw new DuplicateResourceException(mockEndpoint.getMethod() + " " + mockEndpoint.getPath()
+                    + " conflicts with mock '" + takenBy + "', which already serves the same requests");
+        }
+    }
+
+    private static String routeKey(HttpMethod method, String path) {
+        return method + " " + (path != null ? PathTemplateMatcher.routeKey(path) : null);
+    }
+
+    private MockEndpoint newMockEndpoint(MockEndpointDTO mockEndpointDTO, User user, Project project,
+                                         LocalDateTime expirationDate) {
+        MockEndpoint mockEndpoint = new MockEndpoint();
+        mockEndpoint.setName(mockEndpointDTO.getName());
+        mockEndpoint.setDescription(mockEndpointDTO.getDescription());
+        mockEndpoint.setPath(PathNormalizer.normalizePath(mockEndpointDTO.getPath()));
+        mockEndpoint.setMethod(mockEndpointDTO.getMethod());
+        mockEndpoint.setHttpStatusCode(mockEndpointDTO.getHttpStatusCode());
+        mockEndpoint.setContentType(mockEndpointDTO.getContentType());
+        mockEndpoint.setExpirationDate(expirationDate);
+        applyDelay(mockEndpoint, mockEndpointDTO);
+        mockEndpoint.setLatencyProfile(LatencyProfile.normalize(mockEndpointDTO.getLatencyProfile()));
+        mockEndpoint.setRateLimit(RateLimit.normalize(mockEndpointDTO.getRateLimit()));
+        mockEndpoint.setRequiresJwt(mockEndpointDTO.getRequiresJwt());
+        mockEndpoint.setCaptureRequests(Boolean.TRUE.equals(mockEndpointDTO.getCaptureRequests()));
+        mockEndpoint.setTemplated(Boolean.TRUE.equals(mockEndpointDTO.getTemplated()));
+        mockEndpoint.setCreatedBy(user);
+        mockEndpoint.setProject(project);
+
+        if (mockEndpointDTO.getHeaders() != null && !mockEndpointDTO.getHeaders().isEmpty()) {
+            List<MockHeader> headers = mockEndpointDTO.getHeaders().stream()
+                    .map(headerDTO -> {
+                        MockHeader header = new MockHeader();
+                        header.setHeaderKey(headerDTO.getHeaderKey());
+                        header.setHeaderValue(headerDTO.getHeaderValue());
+                        header.setMockEndpoint(mockEndpoint);
+                        return header;
+                    })
+                    .collect(Collectors.toList());
+            mockEndpoint.setHeaders(headers);
+        }
+        if (mockEndpointDTO.getVariants() != null && !mockEndpointDTO.getVariants().isEmpty()) {
+            mockEndpoint.setVariants(toVariants(mockEndpointDTO.getVariants(), mockEndpoint));
+        }
+        // Last, so that a definition rejected above never writes to the body store
+        applyResponseBody(mockEndpoint, mockEndpointDTO.getResponseBody());
+        return mockEndpoint;
+    }
+
+    /**
+     * Conditions are compiled here once so that a malformed one is rejected on save, not when routes load.
+     */
+    private List<MockVariant> toVariants(List<MockVariantDTO> variantDTOs, MockEndpoint mockEndpoint) {
+        return variantDTOs.stream()
+                .map(variantDTO -> {
+                    VariantCondition.parseAll(variantDTO.getConditions());
+                    MockVariant variant = new MockVariant();
+                    variant.setPriority(variantDTO.getPriority() != null ? variantDTO.getPriority() : 0);
+                    variant.setConditions(variantDTO.getConditions());
+                    variant.setHttpStatusCode(variantDTO.getHttpStatusCode());
+                    variant.setResponseBody(variantDTO.getResponseBody());
+                    variant.setMockEndpoint(mockEndpoint);
+                    return variant;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Large bodies go to the disk body store so that neither the row nor the route table holds them.
+     */
+    private void applyResponseBody(MockEndpoint mockEndpoint, String responseBody) {
+        String previousKey = mockEndpoint.getBodyKey();
+        byte[] encoded = responseBody != null && mockBodyStore.isEnabled()
+                ? responseBody.getBytes(CompiledMock.bodyCharset(mockEndpoint.getContentType()))
+                : null;
+
+        if (encoded != null && mockBodyStore.shouldStore(encoded.length)) {
+            MockBodyStore.StoredBody storedBody = mockBodyStore.store(encoded);
+            mockEndpoint.setResponseBody(null);
+            mockEndpoint.setBodyKey(storedBody.getKey());
+            mockEndpoint.setBodySize(storedBody.getSize());
+        } else {
+            mockEndpoint.setResponseBody(responseBody);
+            mockEndpoint.setBodyKey(null);
+            mockEndpoint.setBodySize(null);
+        }
+
+        if (previousKey != null && !previousKey.equals(mockEndpoint.getBodyKey())) {
+            mockBodyStore.releaseAfterCommit(previousKey);
+        }
+    }
+
+    private void applyDelay(MockEndpoint mockEndpoint, MockEndpointDTO mockEndpointDTO) {
+        // Only one of the two delay fields is stored so the effective delay is never ambiguous.
+        if (mockEndpointDTO.getDelayMillis() != null) {
+            mockEndpoint.setDelayMillis(mockEndpointDTO.getDelayMillis());
+            mockEndpoint.setDelaySeconds(null);
+        } else {
+            mockEndpoint.setDelayMillis(null);
+            mockEndpoint.setDelaySeconds(mockEndpointDTO.getDelaySeconds());
+        }
+    }
+
     private MockExpirationOption resolveExpirationOptionOrDefault(String expirationOption) {
         if (expirationOption == null || expirationOption.isBlank()) {
             return MockExpirationOption.ONE_YEAR;
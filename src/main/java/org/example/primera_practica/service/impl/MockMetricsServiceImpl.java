@@ -0,0 +1,187 @@
+package org.example.primera_practica.service.impl;
+
+import org.example.primera_practica.dto.LatencyHistogramDTO;
+import org.example.primera_practica.dto.MockHitStatsDTO;
+import org.example.primera_practica.dto.MockMetricsDTO;
+import org.example.primera_practica.dto.ProjectBulkheadDTO;
+import org.example.primera_practica.service.MockMetricsService;
+import org.example.primera_practica.service.runtime.LatencyHistogram;
+import org.example.primera_practica.service.runtime.MockBulkheads;
+import org.example.primera_practica.service.runtime.MockHitCounters;
+import org.example.primera_practica.service.runtime.MockMetrics;
+import org.example.primera_practica.service.runtime.MockStage;
+import org.example.primera_practica.service.runtime.ProjectBulkhead;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class MockMetricsServiceImpl implements MockMetricsService {
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final MockMetrics mockMetrics;
+    private final MockBulkheads mockBulkheads;
+
+    public MockMetricsServiceImpl(MockMetrics mockMetrics, MockBulkheads mockBulkheads) {
+        this.mockMetrics = mockMetrics;
+        this.mockBulkheads = mockBulkheads;
+    }
+
+    @Override
+    public MockMetricsDTO getMetrics() {
+        MockMetricsDTO dto = new MockMetricsDTO();
+        dto.setNotFound(mockMetrics.getNotFound());
+        for (MockStage stage : MockStage.values()) {
+            dto.getStages().add(convertToDTO(stage, mockMetrics.getStage(stage)));
+        }
+        mockMetrics.getProjectCounters().forEach((projectName, counters) ->
+                dto.getProjects().add(convertToDTO(null, projectName, counters)));
+        mockMetrics.getMockCounters().forEach((mockId, counters) ->
+                dto.getMocks().add(convertToDTO(mockId, counters.getProjectName(), counters)));
+        dto.getProjects().sort(Comparator.comparingLong(MockHitStatsDTO::getHits).reversed());
+        dto.getMocks().sort(Comparator.comparingLong(MockHitStatsDTO::getHits).reversed());
+        for (ProjectBulkhead bulkhead : mockBulkheads.getProjects()) {
+            dto.getBulkheads().add(new ProjectBulkheadDTO(bulkhead.getProjectName(), bulkhead.getInFlight(),
+                    bulkhead.getQueued(), bulkhead.getMaxConcurrent(), bulkhead.getMaxQueued(), bulkhead.getRejected()));
+        }
+        dto.getBulkheads().sort(Comparator.comparingInt(ProjectBulkheadDTO::getInFlight).reversed());
+        return dto;
+    }
+
+    @Override
+    public MockHitStatsDTO getMockStats(Long mockId) {
+        MockHitCounters counters = mockMetrics.getMockCounters(mockId);
+        if (counters == null) {
+            MockHitStatsDTO dto = new MockHitStatsDTO();
+            dto.setMockId(mockId);
+            return dto;
+        }
+        return convertToDTO(mockId, counters.getProjectName(), counters);
+    }
+
+    @Override
+    public String getPrometheusMetrics() {
+        StringBuilder out = new StringBuilder(4096);
+
+        out.append("# HELP mock_stage_duration_seconds Latency of the mock serving pipeline stages.\n");
+        out.append("# TYPE mock_stage_duration_seconds histogram\n");
+        for (MockStage stage : MockStage.values()) {
+            LatencyHistogram histogram = mockMetrics.getStage(stage);
+            String stageLabel = stage.name().toLowerCase(Locale.ROOT);
+            long[] counts = histogram.bucketCounts();
+            long cumulative = 0;
+            for (int i = 0; i < counts.length - 1; i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                cumulative += counts[i];
+                out.append("mock_stage_duration_seconds_bucket{stage=\"").append(stageLabel)
+                        .append("\",le=\"").append(LatencyHistogram.bucketUpperBoundNanos(i) / NANOS_PER_SECOND)
+                        .append("\"} ").append(cumulative).append('\n');
+            }
+            cumulative += counts[counts.length - 1];
+            out.append("mock_stage_duration_seconds_bucket{stage=\"").append(stageLabel)
+                    .append("\",le=\"+Inf\"} ").append(cumulative).append('\n');
+            out.append("mock_stage_duration_seconds_sum{stage=\"").append(stageLabel).append("\"} ")
+                    .append(histogram.getTotalNanos() / NANOS_PER_SECOND).append('\n');
+            out.append("mock_stage_duration_seconds_count{stage=\"").append(stageLabel).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+
+        out.append("# HELP mock_requests_total Responses served per mock and status class.\n");
+        out.append("# TYPE mock_requests_total counter\n");
+        for (Map.Entry<Long, MockHitCounters> entry : mockMetrics.getMockCounters().entrySet()) {
+            MockHitCounters counters = entry.getValue();
+            String labels = "project=\"" + escapeLabel(counters.getProjectName())
+                    + "\",mock_id=\"" + entry.getKey()
+                    + "\",method=\"" + counters.getMethod()
+                    + "\",path=\"" + escapeLabel(counters.getPath()) + "\"";
+            appendStatusClasses(out, "mock_requests_total", labels, entry.getValue());
+        }
+
+        out.append("# HELP mock_project_requests_total Responses served per project and status class.\n");
+        out.append("# TYPE mock_project_requests_total counter\n");
+        for (Map.Entry<String, MockHitCounters> entry : mockMetrics.getProjectCounters().entrySet()) {
+            String labels = "project=\"" + escapeLabel(entry.getKey()) + "\"";
+            appendStatusClasses(out, "mock_project_requests_total", labels, entry.getValue());
+        }
+
+        out.append("# HELP mock_project_in_flight Requests of the project holding a bulkhead permit.\n");
+        out.append("# TYPE mock_project_in_flight gauge\n");
+        for (ProjectBulkhead bulkhead : mockBulkheads.getProjects()) {
+            out.append("mock_project_in_flight{project=\"").append(escapeLabel(bulkhead.getProjectName()))
+                    .append("\"} ").append(bulkhead.getInFlight()).append('\n');
+        }
+
+        out.append("# HELP mock_project_queue_depth Requests of the project waiting for a bulkhead permit.\n");
+        out.append("# TYPE mock_project_queue_depth gauge\n");
+        for (ProjectBulkhead bulkhead : mockBulkheads.getProjects()) {
+            out.append("mock_project_queue_depth{project=\"").append(escapeLabel(bulkhead.getProjectName()))
+                    .append("\"} ").append(bulkhead.getQueued()).append('\n');
+        }
+
+        out.append("# HELP mock_project_bulkhead_rejected_total Requests rejected because the project was saturated.\n");
+        out.append("# TYPE mock_project_bulkhead_rejected_total counter\n");
+        for (ProjectBulkhead bulkhead : mockBulkheads.getProjects()) {
+            out.append("mock_project_bulkhead_rejected_total{project=\"").append(escapeLabel(bulkhead.getProjectName()))
+                    .append("\"} ").append(bulkhead.getRejected()).append('\n');
+        }
+
+        out.append("# HELP mock_not_found_total Mock requests that matched no endpoint.\n");
+        out.append("# TYPE mock_not_found_total counter\n");
+        out.append("mock_not_found_total ").append(mockMetrics.getNotFound()).append('\n');
+        return out.toString();
+    }
+
+    private static void appendStatusClasses(StringBuilder out, String name, String labels, MockHitCounters counters) {
+        for (int statusClass = 1; statusClass <= 5; statusClass++) {
+            long count = counters.getStatusClassCount(statusClass);
+            if (count > 0) {
+                out.append(name).append('{').append(labels)
+                        .append(",status_class=\"").append(statusClass).append("xx\"} ")
+                        .append(count).append('\n');
+            }
+        }
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private LatencyHistogramDTO convertToDTO(MockStage stage, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        LatencyHistogramDTO dto = new LatencyHistogramDTO();
+        dto.setStage(stage.name().toLowerCase(Locale.ROOT));
+        dto.setCount(count);
+        dto.setMeanMicros(count > 0 ? histogram.getTotalNanos() / NANOS_PER_MICRO / count : 0);
+        dto.setP50Micros(histogram.percentileNanos(0.50) / NANOS_PER_MICRO);
+        dto.setP90Micros(histogram.percentileNanos(0.90) / NANOS_PER_MICRO);
+        dto.setP99Micros(histogram.percentileNanos(0.99) / NANOS_PER_MICRO);
+        dto.setP999Micros(histogram.percentileNanos(0.999) / NANOS_PER_MICRO);
+        dto.setMaxMicros(histogram.getMaxNanos() / NANOS_PER_MICRO);
+        return dto;
+    }
+
+    private MockHitStatsDTO convertToDTO(Long mockId, String projectName, MockHitCounters counters) {
+        MockHitStatsDTO dto = new MockHitStatsDTO();
+        long hits = counters.getHits();
+        dto.setMockId(mockId);
+        dto.setProjectName(projectName);
+        if (mockId != null) {
+            dto.setMethod(counters.getMethod());
+            dto.setPath(counters.getPath());
+        }
+        dto.setHits(hits);
+        dto.setStatus2xx(counters.getStatusClassCount(2));
+        dto.setStatus3xx(counters.getStatusClassCount(3));
+        dto.setStatus4xx(counters.getStatusClassCount(4));
+        dto.setStatus5xx(counters.getStatusClassCount(5));
+        dto.setMeanMicros(hits > 0 ? counters.getTotalNanos() / NANOS_PER_MICRO / hits : 0);
+        return dto;
+    }
+}
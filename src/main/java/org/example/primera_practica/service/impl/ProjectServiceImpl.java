@@ -5,14 +5,24 @@ import org.example.primera_practica.exception.ResourceNotFoundException;
 import org.example.primera_practica.model.Project;
 import org.example.primera_practica.model.RoleType;
 import org.example.primera_practica.model.User;
+import org.example.primera_practica.repository.MockEndpointRepository;
 import org.example.primera_practica.repository.ProjectRepository;
 import org.example.primera_practica.repository.UserRepository;
 import org.example.primera_practica.service.ProjectService;
+import org.example.primera_practica.service.runtime.LatencyProfile;
+import org.example.primera_practica.service.runtime.MockBodyStore;
+import org.example.primera_practica.service.runtime.MockRouteTable;
+import org.example.primera_practica.service.runtime.MocksDeletedEvent;
+import org.example.primera_practica.service.runtime.ProjectDeletedEvent;
+import org.example.primera_practica.service.runtime.ProjectNameReleasedEvent;
+import org.example.primera_practica.service.runtime.RateLimit;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,10 +31,23 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-
-    public ProjectServiceImpl(ProjectRepository projectRepository, UserRepository userRepository) {
+    private final MockRouteTable mockRouteTable;
+    private final MockBodyStore mockBodyStore;
+    private final MockEndpointRepository mockEndpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProjectServiceImpl(ProjectRepository projectRepository,
+                              UserRepository userRepository,
+                              MockRouteTable mockRouteTable,
+                              MockBodyStore mockBodyStore,
+                              MockEndpointRepository mockEndpointRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
+        this.mockRouteTable = mockRouteTable;
+        this.mockBodyStore = mockBodyStore;
+        this.mockEndpointRepository = mockEndpointRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -35,6 +58,9 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = new Project();
         project.setName(projectDTO.getName());
         project.setDescription(projectDTO.getDescription());
+        project.setCaptureRequests(Boolean.TRUE.equals(projectDTO.getCaptureRequests()));
+        project.setLatencyProfile(LatencyProfile.normalize(projectDTO.getLatencyProfile()));
+        project.setRateLimit(RateLimit.normalize(projectDTO.getRateLimit()));
         project.setCreatedBy(user);
 
         Project savedProject = projectRepository.save(project);
@@ -77,14 +103,44 @@ public class ProjectServiceImpl implements ProjectService {
     public ProjectDTO updateProject(Long id, ProjectDTO projectDTO) {
         Project project = findProjectById(id);
 
-        if (projectDTO.getName() != null) {
+        String previousName = null;
+        if (projectDTO.getName() != null && !projectDTO.getName().equals(project.getName())) {
+            // Both names may be cached: the old one with this project's routes, the new one possibly as empty.
+            mockRouteTable.invalidateProjectAfterCommit(project.getName());
+            mockRouteTable.invalidateProjectAfterCommit(projectDTO.getName());
+            previousName = project.getName();
             project.setName(projectDTO.getName());
         }
         if (projectDTO.getDescription() != null) {
             project.setDescription(projectDTO.getDescription());
         }
+        if (projectDTO.getCaptureRequests() != null
+                && !projectDTO.getCaptureRequests().equals(Boolean.TRUE.equals(project.getCaptureRequests()))) {
+            // Compiled routes carry the capture flag
+            mockRouteTable.invalidateProjectAfterCommit(project.getName());
+            project.setCaptureRequests(projectDTO.getCaptureRequests());
+        }
+        if (projectDTO.getLatencyProfile() != null) {
+            // A blank profile clears it
+            String latencyProfile = LatencyProfile.normalize(projectDTO.getLatencyProfile());
+            if (!Objects.equals(latencyProfile, project.getLatencyProfile())) {
+                mockRouteTable.invalidateProjectAfterCommit(project.getName());
+                project.setLatencyProfile(latencyProfile);
+            }
+        }
+        if (projectDTO.getRateLimit() != null) {
+            // A blank limit clears it; reloading the routes also refills the buckets
+            String rateLimit = RateLimit.normalize(projectDTO.getRateLimit());
+            if (!Objects.equals(rateLimit, project.getRateLimit())) {
+                mockRouteTable.invalidateProjectAfterCommit(project.getName());
+                project.setRateLimit(rateLimit);
+            }
+        }
 
         Project updatedProject = projectRepository.save(project);
+        if (previousName != null) {
+            publishIfNameReleased(previousName);
+        }
         return convertToDTO(updatedProject);
     }
 
@@ -97,15 +153,33 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public void deleteProject(Long id) {
-        Project project = findProjectById(id);
-        projectRepository.delete(project);
+        delete(findProjectById(id));
     }
 
     @Override
     public void deleteProjectForUser(Long id, String username) {
         Project project = findProjectById(id);
         validateProjectAccess(project, username);
+        delete(project);
+    }
+
+    private void delete(Project project) {
+        mockBodyStore.releaseProjectAfterCommit(project.getId());
+        List<Long> mockIds = mockEndpointRepository.findIdsByProjectId(project.getId());
         projectRepository.delete(project);
+        mockRouteTable.invalidateProjectAfterCommit(project.getName());
+        eventPublisher.publishEvent(new MocksDeletedEvent(mockIds));
+        eventPublisher.publishEvent(new ProjectDeletedEvent(project.getId()));
+        publishIfNameReleased(project.getName());
+    }
+
+    /**
+     * Project names are not unique, and state kept per name is shared by every project that has it.
+     */
+    private void publishIfNameReleased(String projectName) {
+        if (!projectRepository.existsByName(projectName)) {
+            eventPublisher.publishEvent(new ProjectNameReleasedEvent(projectName));
+        }
     }
 
     private User findUserByUsername(String username) {
@@ -141,6 +215,9 @@ public class ProjectServiceImpl implements ProjectService {
         dto.setId(project.getId());
         dto.setName(project.getName());
         dto.setDescription(project.getDescription());
+        dto.setCaptureRequests(Boolean.TRUE.equals(project.getCaptureRequests()));
+        dto.setLatencyProfile(project.getLatencyProfile());
+        dto.setRateLimit(project.getRateLimit());
         dto.setCreatedBy(project.getCreatedBy().getUsername());
         dto.setCreatedAt(project.getCreatedAt());
         return dto;
@@ -8,6 +8,7 @@ import org.example.primera_practica.model.RoleType;
 import org.example.primera_practica.model.User;
 import org.example.primera_practica.repository.RoleRepository;
 import org.example.primera_practica.repository.UserRepository;
+import org.example.primera_practica.security.UserDetailsCache;
 import org.example.primera_practica.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,11 +29,14 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                           UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -98,6 +102,7 @@ public class UserServiceImpl implements UserService {
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userDetailsCache.evictAfterCommit(user.getUsername());
 
         if (userDTO.getUsername() != null && !userDTO.getUsername().equals(user.getUsername())) {
             if (userRepository.findByUsername(userDTO.getUsername()).isPresent()) {
@@ -126,6 +131,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         userRepository.delete(user);
+        userDetailsCache.evictAfterCommit(user.getUsername());
     }
 
     @Override
@@ -137,6 +143,7 @@ public class UserServiceImpl implements UserService {
 
         user.getRoles().add(role);
         userRepository.save(user);
+        userDetailsCache.evictAfterCommit(user.getUsername());
     }
 
     private UserDTO convertToDTO(User user) {
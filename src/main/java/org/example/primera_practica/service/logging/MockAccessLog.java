@@ -0,0 +1,289 @@
+package org.example.primera_practica.service.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log for {@code /api/mock/**}. Request threads only build an entry and offer it to a
+ * lock-free ring buffer; a single writer thread drains the buffer in batches and appends JSON lines to a
+ * size-rotated file. When the writer falls behind the buffer fills up and entries are dropped and counted,
+ * so a slow disk never turns into mock latency.
+ */
+@Component
+public class MockAccessLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockAccessLog.class);
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final boolean enabled;
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final MpscRingBuffer<Entry> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private final StringBuilder line = new StringBuilder(256);
+    private CountingOutputStream output;
+    private long lastDropReportNanos = System.nanoTime();
+    private long droppedReported;
+
+    public MockAccessLog(
+            @Value("${mock.access-log.enabled:false}") boolean enabled,
+            @Value("${mock.access-log.file:${java.io.tmpdir}/primera-practica/mock-access.log}") String file,
+            @Value("${mock.access-log.max-file-size:10485760}") long maxFileSize,
+            @Value("${mock.access-log.max-files:5}") int maxFiles,
+            @Value("${mock.access-log.buffer-size:65536}") int bufferSize) {
+        this.enabled = enabled;
+        this.file = Path.of(file).toAbsolutePath();
+        this.maxFileSize = Math.max(1024, maxFileSize);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.buffer = enabled ? new MpscRingBuffer<>(Integer.highestOneBit(Math.max(2, bufferSize))) : null;
+        if (enabled) {
+            this.writer = Thread.ofPlatform().name("mock-access-log").daemon(true).unstarted(this::runWriter);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Called on the request thread; never blocks. {@code mockId} is null when no mock matched.
+     */
+    public void record(String projectName, String method, String path, int status, Long mockId,
+                       long latencyNanos, long bytes) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), projectName, method, path, status, mockId, latencyNanos, bytes);
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (running) {
+                int written = buffer.drain(this::write, BATCH_SIZE);
+                if (written > 0) {
+                    flush();
+                } else {
+                    reportDrops();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            // Final drain so entries recorded before shutdown still reach the file
+            while (buffer.drain(this::write, BATCH_SIZE) > 0) {
+                flush();
+            }
+            reportDrops();
+        } finally {
+            close();
+        }
+    }
+
+    private void write(Entry entry) {
+        line.setLength(0);
+        line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(entry.getTimestampMillis()))
+                .append("\",\"project\":");
+        appendString(line, entry.getProjectName());
+        line.append(",\"method\":");
+        appendString(line, entry.getMethod());
+        line.append(",\"path\":");
+        appendString(line, entry.getPath());
+        line.append(",\"status\":").append(entry.getStatus())
+                .append(",\"mockId\":").append(entry.getMockId())
+                .append(",\"latencyMicros\":").append(TimeUnit.NANOSECONDS.toMicros(entry.getLatencyNanos()))
+                .append(",\"bytes\":").append(entry.getBytes())
+                .append("}\n");
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            if (output == null) {
+                open();
+            } else if (output.count + bytes.length > maxFileSize) {
+                rotate();
+            }
+            output.write(bytes);
+        } catch (IOException e) {
+            logger.warn("Could not write mock access log {}: {}", file, e.getMessage());
+            close();
+        }
+    }
+
+    private void flush() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.flush();
+        } catch (IOException e) {
+            logger.warn("Could not flush mock access log {}: {}", file, e.getMessage());
+            close();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(file.getParent());
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        output = new CountingOutputStream(new BufferedOutputStream(stream, 64 * 1024), Files.size(file));
+    }
+
+    /**
+     * Shifts {@code file.N-1} to {@code file.N} down to {@code file} itself; the oldest file is dropped.
+     */
+    private void rotate() throws IOException {
+        close();
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = rotated(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (Files.exists(file)) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void close() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            logger.warn("Could not close mock access log {}: {}", file, e.getMessage());
+        }
+        output = null;
+    }
+
+    private void reportDrops() {
+        long now = System.nanoTime();
+        if (now - lastDropReportNanos < DROP_REPORT_INTERVAL_NANOS) {
+            return;
+        }
+        lastDropReportNanos = now;
+        long total = dropped.sum();
+        if (total > droppedReported) {
+            logger.warn("Mock access log dropped {} entries because the buffer was full", total - droppedReported);
+            droppedReported = total;
+        }
+    }
+
+    static void appendString(StringBuilder target, String value) {
+        if (value == null) {
+            target.append("null");
+            return;
+        }
+        target.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> target.append("\\\"");
+                case '\\' -> target.append("\\\\");
+                case '\n' -> target.append("\\n");
+                case '\r' -> target.append("\\r");
+                case '\t' -> target.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        target.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        target.append(c);
+                    }
+                }
+            }
+        }
+        target.append('"');
+    }
+
+    @lombok.Value
+    static class Entry {
+        long timestampMillis;
+        String projectName;
+        String method;
+        String path;
+        int status;
+        Long mockId;
+        long latencyNanos;
+        long bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        CountingOutputStream(OutputStream delegate, long initialCount) {
+            this.delegate = delegate;
+            this.count = initialCount;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.example.primera_practica.model.MockEndpoint;
+import org.example.primera_practica.model.MockVariant;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bodies of a mock and of its variants, the variants in {@link #sortedVariants} order.
+ */
+@Getter(AccessLevel.PACKAGE)
+final class CompiledBodies {
+
+    // Same order as the variants mapping, so equal priorities keep their stored order on every load
+    private static final Comparator<MockVariant> PRIORITY_ORDER = Comparator
+            .comparing(MockVariant::getPriority)
+            .thenComparing(MockVariant::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final CompiledBody mock;
+    private final List<CompiledBody> variants;
+
+    private CompiledBodies(CompiledBody mock, List<CompiledBody> variants) {
+        this.mock = mock;
+        this.variants = variants;
+    }
+
+    /**
+     * Must be called inside a transaction so that headers and variants are initialized.
+     *
+     * @param bodyFile             stored body to stream instead of the mock's response body, or {@code null}
+     * @param compressionThreshold minimum body size in bytes for compressed variants; negative disables them
+     */
+    static CompiledBodies compile(MockEndpoint mockEndpoint, Path bodyFile, int compressionThreshold) {
+        List<CompiledBody> variants = new ArrayList<>();
+        for (MockVariant variant : sortedVariants(mockEndpoint)) {
+            variants.add(CompiledBody.compile(mockEndpoint, null, compressionThreshold,
+                    variant.getHttpStatusCode(), variant.getResponseBody()));
+        }
+        CompiledBody mock = CompiledBody.compile(mockEndpoint, bodyFile, compressionThreshold,
+                mockEndpoint.getHttpStatusCode(), mockEndpoint.getResponseBody());
+        return new CompiledBodies(mock, List.copyOf(variants));
+    }
+
+    static List<MockVariant> sortedVariants(MockEndpoint mockEndpoint) {
+        if (mockEndpoint.getVariants() == null || mockEndpoint.getVariants().isEmpty()) {
+            return List.of();
+        }
+        List<MockVariant> variants = new ArrayList<>(mockEndpoint.getVariants());
+        variants.sort(PRIORITY_ORDER);
+        return variants;
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.example.primera_practica.model.MockEndpoint;
+import org.example.primera_practica.model.MockHeader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The expensive part of a {@link CompiledMock}: the pre-serialized response of the mock or of one of its
+ * variants, its strong ETag and its compressed forms. It only depends on the mock's own columns, headers
+ * and variants, so {@link CompiledBodyCache} can hand the same instance to every load until the mock is edited.
+ */
+@Getter(AccessLevel.PACKAGE)
+final class CompiledBody {
+
+    private final String contentTypeHeader;
+    private final String[] headerNames;
+    private final String[] headerValues;
+    private final byte[] body;
+    private final Path bodyFile;
+    private final ResponseTemplate template;
+    private final String etag;
+    private final byte[] gzipBody;
+    private final String gzipEtag;
+    private final byte[] deflateBody;
+    private final String deflateEtag;
+
+    private CompiledBody(MockEndpoint mockEndpoint, Path bodyFile, int compressionThreshold,
+                         int httpStatusCode, String responseBody) {
+        String contentType = mockEndpoint.getContentType();
+        MediaType mediaType = parseMediaType(contentType);
+        Charset declaredCharset = mediaType != null ? mediaType.getCharset() : null;
+        Charset charset = declaredCharset != null ? declaredCharset : StandardCharsets.UTF_8;
+        // Text types without an explicit charset would otherwise be read as ISO-8859-1 by clients.
+        this.contentTypeHeader = mediaType != null && declaredCharset == null && "text".equals(mediaType.getType())
+                ? contentType + ";charset=" + charset.name()
+                : contentType;
+
+        this.bodyFile = bodyFile;
+        this.body = bodyFile == null && responseBody != null ? responseBody.getBytes(charset) : new byte[0];
+        this.template = bodyFile == null && Boolean.TRUE.equals(mockEndpoint.getTemplated())
+                ? ResponseTemplate.compile(responseBody != null ? responseBody : "", charset, escaping(mediaType))
+                : null;
+
+        List<MockHeader> headers = mockEndpoint.getHeaders() != null ? mockEndpoint.getHeaders() : List.of();
+        this.headerNames = new String[headers.size()];
+        this.headerValues = new String[headers.size()];
+        boolean declaresEncoding = false;
+        for (int i = 0; i < headers.size(); i++) {
+            headerNames[i] = headers.get(i).getHeaderKey();
+            headerValues[i] = headers.get(i).getHeaderValue();
+            declaresEncoding |= HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(headerNames[i]);
+        }
+
+        this.etag = computeEtag(httpStatusCode, mockEndpoint.getBodyKey());
+        // A mock that sets Content-Encoding itself already serves an encoded body, leave it alone.
+        // Stored bodies are streamed as they are on disk; a compressed copy would cost a second file per body.
+        boolean compressible = bodyFile == null && template == null && !declaresEncoding && compressionThreshold >= 0 && body.length >= compressionThreshold;
+        byte[] gzipped = compressible ? compress(body, ContentCoding.GZIP) : null;
+        byte[] deflated = compressible ? compress(body, ContentCoding.DEFLATE) : null;
+        // Keep a variant only if it actually saves bytes.
+        this.gzipBody = gzipped != null && gzipped.length < body.length ? gzipped : null;
+        this.deflateBody = deflated != null && deflated.length < body.length ? deflated : null;
+        this.gzipEtag = gzipBody != null ? variantEtag(etag, ContentCoding.GZIP) : null;
+        this.deflateEtag = deflateBody != null ? variantEtag(etag, ContentCoding.DEFLATE) : null;
+    }
+
+    /**
+     * Must be called inside a transaction so that headers are initialized.
+     *
+     * @param bodyFile             stored body to stream instead of {@code responseBody}, or {@code null}
+     * @param compressionThreshold minimum body size in bytes for compressed variants; negative disables them
+     */
+    static CompiledBody compile(MockEndpoint mockEndpoint, Path bodyFile, int compressionThreshold,
+                                int httpStatusCode, String responseBody) {
+        return new CompiledBody(mockEndpoint, bodyFile, compressionThreshold, httpStatusCode, responseBody);
+    }
+
+    /**
+     * Charset a mock body is encoded in: the one declared by its content type, UTF-8 otherwise.
+     */
+    static Charset bodyCharset(String contentType) {
+        MediaType mediaType = parseMediaType(contentType);
+        Charset declaredCharset = mediaType != null ? mediaType.getCharset() : null;
+        return declaredCharset != null ? declaredCharset : StandardCharsets.UTF_8;
+    }
+
+    private static byte[] compress(byte[] source, ContentCoding coding) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, source.length / 4));
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream output = coding == ContentCoding.GZIP
+                ? new BestGzipOutputStream(buffer)
+                : new DeflaterOutputStream(buffer, deflater)) {
+            output.write(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String variantEtag(String etag, ContentCoding coding) {
+        return etag.substring(0, etag.length() - 1) + '-' + coding.getToken() + '"';
+    }
+
+    private String computeEtag(int httpStatusCode, String bodyKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Integer.toString(httpStatusCode).getBytes(StandardCharsets.US_ASCII));
+            digest.update(contentTypeHeader.getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < headerNames.length; i++) {
+                digest.update(headerNames[i].getBytes(StandardCharsets.UTF_8));
+                digest.update(headerValues[i].getBytes(StandardCharsets.UTF_8));
+            }
+            // A stored body's key already is the SHA-256 of its bytes
+            digest.update(bodyFile != null ? bodyKey.getBytes(StandardCharsets.US_ASCII) : body);
+            byte[] hash = digest.digest();
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ResponseTemplate.Escaping escaping(MediaType mediaType) {
+        if (mediaType == null) {
+            return ResponseTemplate.Escaping.NONE;
+        }
+        String subtype = mediaType.getSubtype();
+        if ("json".equals(subtype) || subtype.endsWith("+json")) {
+            return ResponseTemplate.Escaping.JSON;
+        }
+        if ("xml".equals(subtype) || subtype.endsWith("+xml") || "html".equals(subtype)) {
+            return ResponseTemplate.Escaping.MARKUP;
+        }
+        return ResponseTemplate.Escaping.NONE;
+    }
+
+    private static MediaType parseMediaType(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            // Resolve eagerly so an unsupported charset name falls back to UTF-8 here, not per request.
+            mediaType.getCharset();
+            return mediaType;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Bodies are compressed once per edit, so the slowest level is worth it.
+     */
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+        BestGzipOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
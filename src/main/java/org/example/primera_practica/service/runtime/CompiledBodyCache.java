@@ -0,0 +1,63 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.MockEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled bodies of the mocks, kept across route loads. Any edit of a mock, its headers or its variants
+ * moves its {@code updatedAt}, so a reload after one mock changed digests and compresses that mock only
+ * and reuses the bytes, ETags and compressed forms of its siblings. Like {@link RateLimitBuckets}, entries
+ * are only touched when routes are loaded and are dropped when their mock is deleted.
+ */
+@Component
+public class CompiledBodyCache {
+
+    private final ConcurrentMap<Long, VersionedBodies> mocks = new ConcurrentHashMap<>();
+    private final int compressionThreshold;
+
+    public CompiledBodyCache(@Value("${mock.compression.enabled:true}") boolean compressionEnabled,
+                             @Value("${mock.compression.min-size:1024}") int compressionMinSize) {
+        this.compressionThreshold = compressionEnabled ? Math.max(0, compressionMinSize) : -1;
+    }
+
+    /**
+     * Must be called inside a transaction so that headers and variants are initialized.
+     *
+     * @param bodyFile stored body to stream instead of the mock's response body, or {@code null}
+     */
+    CompiledBodies bodiesFor(MockEndpoint mockEndpoint, Path bodyFile) {
+        LocalDateTime version = mockEndpoint.getUpdatedAt();
+        VersionedBodies cached = mocks.get(mockEndpoint.getId());
+        if (cached != null && version != null && version.equals(cached.version)) {
+            return cached.bodies;
+        }
+        // Two loads racing on the same mock both compile it; the bodies are equal, either may stay
+        CompiledBodies bodies = CompiledBodies.compile(mockEndpoint, bodyFile, compressionThreshold);
+        if (version != null) {
+            mocks.put(mockEndpoint.getId(), new VersionedBodies(version, bodies));
+        }
+        return bodies;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMocksDeleted(MocksDeletedEvent event) {
+        mocks.keySet().removeAll(event.getMockIds());
+    }
+
+    private static final class VersionedBodies {
+        private final LocalDateTime version;
+        private final CompiledBodies bodies;
+
+        private VersionedBodies(LocalDateTime version, CompiledBodies bodies) {
+            this.version = version;
+            this.bodies = bodies;
+        }
+    }
+}
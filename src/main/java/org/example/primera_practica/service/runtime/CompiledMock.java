@@ -0,0 +1,273 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.model.MockEndpoint;
+import org.example.primera_practica.model.MockVariant;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, detached view of a {@link MockEndpoint} holding only what the serving path needs.
+ * Instances are built once when a project's routes are loaded and shared between requests, so the
+ * response is kept pre-serialized: body bytes in the mock's charset, the final Content-Type value
+ * and the custom headers as parallel arrays. A strong ETag and the Last-Modified value are derived at
+ * the same time for conditional requests. Bodies above the compression threshold also get gzip and
+ * deflate variants, each with its own ETag, so negotiation never compresses per request. Bodies kept
+ * in the {@link MockBodyStore} are only referenced by file and never loaded into the heap. Templated
+ * bodies are compiled into a {@link ResponseTemplate} instead and, since they differ per request, get
+ * neither compressed variants nor conditional request support. Conditional response variants are compiled
+ * into a {@link VariantIndex} of further instances that differ only in status and body. Bodies, ETags and compressed forms come
+ * from the mock's {@link CompiledBody}s, which {@link CompiledBodyCache} reuses until the mock is edited. Rate limits are the
+ * only mutable state: a {@link TokenBucket} per limited mock, plus one shared by the mocks of a limited project,
+ * both taken from {@link RateLimitBuckets} so they outlive a reload.
+ */
+@Getter
+public final class CompiledMock {
+
+    private final Long id;
+    private final Long projectId;
+    private final String projectName;
+    private final String path;
+    private final HttpMethod method;
+    private final int httpStatusCode;
+    private final String contentType;
+    private final String contentTypeHeader;
+    private final byte[] body;
+    private final Path bodyFile;
+    private final ResponseTemplate template;
+    private final long contentLength;
+    private final String[] headerNames;
+    private final String[] headerValues;
+    private final String etag;
+    @Getter(AccessLevel.NONE)
+    private final byte[] gzipBody;
+    @Getter(AccessLevel.NONE)
+    private final String gzipEtag;
+    @Getter(AccessLevel.NONE)
+    private final byte[] deflateBody;
+    @Getter(AccessLevel.NONE)
+    private final String deflateEtag;
+    private final long lastModifiedMillis;
+    private final String lastModifiedHeader;
+    private final LocalDateTime expirationDate;
+    private final LatencyProfile latency;
+    private final boolean requiresJwt;
+    private final boolean captureRequests;
+    @Getter(AccessLevel.NONE)
+    private final VariantIndex<CompiledMock> variants;
+    @Getter(AccessLevel.NONE)
+    private final TokenBucket mockRateLimit;
+    @Getter(AccessLevel.NONE)
+    private final TokenBucket projectRateLimit;
+
+    private CompiledMock(MockEndpoint mockEndpoint, CompiledBody compiledBody, int httpStatusCode,
+                         VariantIndex<CompiledMock> variants, TokenBucket mockRateLimit, TokenBucket projectRateLimit) {
+        this.id = mockEndpoint.getId();
+        this.projectId = mockEndpoint.getProject().getId();
+        this.projectName = mockEndpoint.getProject().getName();
+        this.path = mockEndpoint.getPath();
+        this.method = mockEndpoint.getMethod();
+        this.httpStatusCode = httpStatusCode;
+        this.contentType = mockEndpoint.getContentType();
+        this.expirationDate = mockEndpoint.getExpirationDate();
+        this.latency = resolveLatency(mockEndpoint);
+        this.variants = variants;
+        this.mockRateLimit = mockRateLimit;
+        this.projectRateLimit = projectRateLimit;
+        this.requiresJwt = Boolean.TRUE.equals(mockEndpoint.getRequiresJwt());
+        this.captureRequests = Boolean.TRUE.equals(mockEndpoint.getCaptureRequests())
+                || Boolean.TRUE.equals(mockEndpoint.getProject().getCaptureRequests());
+
+        this.contentTypeHeader = compiledBody.getContentTypeHeader();
+        this.bodyFile = compiledBody.getBodyFile();
+        this.body = compiledBody.getBody();
+        this.template = compiledBody.getTemplate();
+        this.contentLength = bodyFile != null && mockEndpoint.getBodySize() != null ? mockEndpoint.getBodySize() : body.length;
+        this.headerNames = compiledBody.getHeaderNames();
+        this.headerValues = compiledBody.getHeaderValues();
+        this.etag = compiledBody.getEtag();
+        this.gzipBody = compiledBody.getGzipBody();
+        this.gzipEtag = compiledBody.getGzipEtag();
+        this.deflateBody = compiledBody.getDeflateBody();
+        this.deflateEtag = compiledBody.getDeflateEtag();
+        LocalDateTime modifiedAt = mockEndpoint.getUpdatedAt() != null
+                ? mockEndpoint.getUpdatedAt()
+                : mockEndpoint.getCreatedAt();
+        if (modifiedAt != null) {
+            // HTTP dates have second precision; truncate so If-Modified-Since round-trips exactly.
+            ZonedDateTime modified = modifiedAt.atZone(ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS);
+            this.lastModifiedMillis = modified.toInstant().toEpochMilli();
+            this.lastModifiedHeader = DateTimeFormatter.RFC_1123_DATE_TIME.format(modified.withZoneSameInstant(ZoneId.of("GMT")));
+        } else {
+            this.lastModifiedMillis = -1;
+            this.lastModifiedHeader = null;
+        }
+    }
+
+    /**
+     * Must be called inside a transaction so that headers and project are initialized.
+     *
+     * @param bodyFile             stored body to stream instead of {@code responseBody}, or {@code null}
+     * @param compressionThreshold minimum body size in bytes for compressed variants; negative disables them
+     */
+    public static CompiledMock from(MockEndpoint mockEndpoint, Path bodyFile, int compressionThreshold) {
+        return from(mockEndpoint, bodyFile, compressionThreshold,
+                mockEndpoint.getRateLimit() != null ? RateLimit.parse(mockEndpoint.getRateLimit()).newBucket() : null,
+                null);
+    }
+
+    /**
+     * @param mockRateLimit    bucket of the mock, or {@code null} when it has no limit
+     * @param projectRateLimit bucket shared by all mocks of the project, or {@code null} when it has no limit
+     */
+    public static CompiledMock from(MockEndpoint mockEndpoint, Path bodyFile, int compressionThreshold,
+                                    TokenBucket mockRateLimit, TokenBucket projectRateLimit) {
+        return from(mockEndpoint, CompiledBodies.compile(mockEndpoint, bodyFile, compressionThreshold),
+                mockRateLimit, projectRateLimit);
+    }
+
+    /**
+     * @param bodies the mock's bodies, compiled from this very version of it
+     */
+    static CompiledMock from(MockEndpoint mockEndpoint, CompiledBodies bodies,
+                             TokenBucket mockRateLimit, TokenBucket projectRateLimit) {
+        List<MockVariant> variants = CompiledBodies.sortedVariants(mockEndpoint);
+        VariantIndex<CompiledMock> variantIndex = null;
+        if (!variants.isEmpty()) {
+            // Each variant is pre-serialized like the mock itself, with its own ETag and compressed forms
+            List<List<VariantCondition>> conditions = new ArrayList<>(variants.size());
+            List<CompiledMock> responses = new ArrayList<>(variants.size());
+            for (int i = 0; i < variants.size(); i++) {
+                MockVariant variant = variants.get(i);
+                conditions.add(VariantCondition.parseAll(variant.getConditions()));
+                responses.add(new CompiledMock(mockEndpoint, bodies.getVariants().get(i),
+                        variant.getHttpStatusCode(), null, null, null));
+            }
+            variantIndex = VariantIndex.build(conditions, responses);
+        }
+        return new CompiledMock(mockEndpoint, bodies.getMock(), mockEndpoint.getHttpStatusCode(), variantIndex,
+                mockRateLimit, projectRateLimit);
+    }
+
+    /**
+     * Charset a mock body is encoded in: the one declared by its content type, UTF-8 otherwise.
+     */
+    public static Charset bodyCharset(String contentType) {
+        return CompiledBody.bodyCharset(contentType);
+    }
+
+    public boolean hasVariants() {
+        return variants != null;
+    }
+
+    /**
+     * Response for this request: the first variant whose conditions hold, otherwise the mock itself.
+     */
+    public CompiledMock selectVariant(VariantRequest request) {
+        if (variants == null) {
+            return this;
+        }
+        CompiledMock variant = variants.select(request);
+        return variant != null ? variant : this;
+    }
+
+    /**
+     * Takes a token from the mock's bucket and one from the project's, or neither. Both buckets are read
+     * first, so a request rejected by either limit writes to neither; if the project's bucket empties in
+     * between, the mock's token is given back.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until the exhausted limit admits again
+     */
+    public long acquirePermit(long nowNanos) {
+        if (mockRateLimit == null) {
+            return projectRateLimit != null ? projectRateLimit.tryAcquire(nowNanos) : 0;
+        }
+        if (projectRateLimit == null) {
+            return mockRateLimit.tryAcquire(nowNanos);
+        }
+        long waitNanos = Math.max(mockRateLimit.waitNanos(nowNanos), projectRateLimit.waitNanos(nowNanos));
+        if (waitNanos > 0) {
+            return waitNanos;
+        }
+        waitNanos = mockRateLimit.tryAcquire(nowNanos);
+        if (waitNanos > 0) {
+            return waitNanos;
+        }
+        waitNanos = projectRateLimit.tryAcquire(nowNanos);
+        if (waitNanos > 0) {
+            mockRateLimit.refund();
+        }
+        return waitNanos;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expirationDate.isBefore(now);
+    }
+
+    public boolean isFileBacked() {
+        return bodyFile != null;
+    }
+
+    /**
+     * Simulated latency for one request in nanoseconds, sampled from the mock's latency profile.
+     */
+    public long sampleDelayNanos() {
+        return latency != null ? latency.sampleNanos() : 0;
+    }
+
+    public boolean isTemplated() {
+        return template != null;
+    }
+
+    public boolean hasCompressedVariants() {
+        return gzipBody != null || deflateBody != null;
+    }
+
+    public byte[] getBody(ContentCoding coding) {
+        return switch (coding) {
+            case GZIP -> gzipBody;
+            case DEFLATE -> deflateBody;
+            case IDENTITY -> body;
+        };
+    }
+
+    public String getEtag(ContentCoding coding) {
+        return switch (coding) {
+            case GZIP -> gzipEtag;
+            case DEFLATE -> deflateEtag;
+            case IDENTITY -> etag;
+        };
+    }
+
+    /**
+     * Conditional GETs only make sense for successful responses with a fixed body.
+     */
+    public boolean isCacheable() {
+        return template == null && method == HttpMethod.GET && httpStatusCode >= 200 && httpStatusCode < 300;
+    }
+
+    /**
+     * The mock's own profile or delay wins over the project's profile; an explicit zero delay opts out of it.
+     */
+    private static LatencyProfile resolveLatency(MockEndpoint mockEndpoint) {
+        if (mockEndpoint.getLatencyProfile() != null) {
+            return LatencyProfile.parse(mockEndpoint.getLatencyProfile());
+        }
+        if (mockEndpoint.getDelayMillis() != null || mockEndpoint.getDelaySeconds() != null) {
+            long delayMillis = mockEndpoint.getEffectiveDelayMillis();
+            return delayMillis > 0 ? LatencyProfile.fixed(delayMillis) : null;
+        }
+        String projectProfile = mockEndpoint.getProject().getLatencyProfile();
+        return projectProfile != null ? LatencyProfile.parse(projectProfile) : null;
+    }
+}
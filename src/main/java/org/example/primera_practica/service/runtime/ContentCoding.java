@@ -0,0 +1,93 @@
+package org.example.primera_practica.service.runtime;
+
+/**
+ * Content codings the mock server can serve pre-compressed bodies in.
+ */
+public enum ContentCoding {
+    IDENTITY(null),
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Value for the Content-Encoding header, or {@code null} for identity.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Picks the coding for an Accept-Encoding header among the variants that exist. Among codings with
+     * the same quality gzip is preferred, and identity is used when nothing acceptable is available.
+     */
+    public static ContentCoding negotiate(String acceptEncoding, boolean gzipAvailable, boolean deflateAvailable) {
+        if (acceptEncoding == null || (!gzipAvailable && !deflateAvailable)) {
+            return IDENTITY;
+        }
+
+        double gzipQuality = 0;
+        double deflateQuality = 0;
+        double wildcardQuality = -1;
+        boolean gzipListed = false;
+        boolean deflateListed = false;
+
+        int length = acceptEncoding.length();
+        int start = 0;
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int separator = acceptEncoding.indexOf(';', start);
+            int tokenEnd = separator >= 0 && separator < end ? separator : end;
+            String coding = acceptEncoding.substring(start, tokenEnd).trim();
+            double quality = tokenEnd < end ? parseQuality(acceptEncoding.substring(tokenEnd + 1, end)) : 1.0;
+
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality);
+                gzipListed = true;
+            } else if (coding.equalsIgnoreCase("deflate")) {
+                deflateQuality = Math.max(deflateQuality, quality);
+                deflateListed = true;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+            start = end + 1;
+        }
+
+        if (!gzipListed && wildcardQuality >= 0) {
+            gzipQuality = wildcardQuality;
+        }
+        if (!deflateListed && wildcardQuality >= 0) {
+            deflateQuality = wildcardQuality;
+        }
+        if (!gzipAvailable) {
+            gzipQuality = 0;
+        }
+        if (!deflateAvailable) {
+            deflateQuality = 0;
+        }
+
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+            return GZIP;
+        }
+        return deflateQuality > 0 ? DEFLATE : IDENTITY;
+    }
+
+    private static double parseQuality(String parameters) {
+        String trimmed = parameters.trim();
+        if (!trimmed.startsWith("q=") && !trimmed.startsWith("Q=")) {
+            return 1.0;
+        }
+        try {
+            return Double.parseDouble(trimmed.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
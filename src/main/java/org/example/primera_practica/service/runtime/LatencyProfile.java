@@ -0,0 +1,168 @@
+package org.example.primera_practica.service.runtime;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parsed latency profile of a mock or project, written as {@code <distribution>:<a>[,<b>]} with parameters in
+ * milliseconds:
+ * <ul>
+ *     <li>{@code fixed:250}: always 250 ms</li>
+ *     <li>{@code uniform:50,150}: anywhere between 50 and 150 ms</li>
+ *     <li>{@code normal:100,20}: mean 100 ms, standard deviation 20 ms, negative samples become 0</li>
+ *     <li>{@code lognormal:100,40}: mean 100 ms, standard deviation 40 ms, right-skewed</li>
+ *     <li>{@code pareto:20,35}: at least 20 ms, median 35 ms, heavy tail</li>
+ * </ul>
+ * Distribution parameters are derived once at parse time. Sampling draws from {@link ThreadLocalRandom}, so it
+ * neither allocates nor contends between request threads. Random samples are capped at {@link #MAX_SAMPLE_MILLIS}.
+ */
+public final class LatencyProfile {
+
+    private static final long MAX_SAMPLE_MILLIS = 60_000L;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final Distribution distribution;
+    private final double first;
+    private final double second;
+    // Log-normal: mu and sigma of the underlying normal; Pareto: 1 / shape
+    private final double mu;
+    private final double sigma;
+    private final double inverseShape;
+
+    private LatencyProfile(Distribution distribution, double first, double second) {
+        this.distribution = distribution;
+        this.first = first;
+        this.second = second;
+        if (distribution == Distribution.LOGNORMAL) {
+            double variance = Math.log1p((second * second) / (first * first));
+            this.sigma = Math.sqrt(variance);
+            this.mu = Math.log(first) - variance / 2;
+            this.inverseShape = 0;
+        } else if (distribution == Distribution.PARETO) {
+            // Median of a Pareto distribution is min * 2^(1/shape)
+            this.inverseShape = Math.log(second / first) / Math.log(2);
+            this.mu = 0;
+            this.sigma = 0;
+        } else {
+            this.mu = 0;
+            this.sigma = 0;
+            this.inverseShape = 0;
+        }
+    }
+
+    public static LatencyProfile fixed(long millis) {
+        return new LatencyProfile(Distribution.FIXED, millis, 0);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the profile is malformed or its parameters are inconsistent
+     */
+    public static LatencyProfile parse(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Latency profile must look like <distribution>:<parameters>, got: " + spec);
+        }
+        Distribution distribution = Distribution.fromName(spec.substring(0, colon).trim());
+        String[] parameters = spec.substring(colon + 1).split(",", -1);
+        if (parameters.length != distribution.parameterCount) {
+            throw new IllegalArgumentException(String.format("Latency profile %s takes %d parameter(s), got: %s",
+                    distribution.token, distribution.parameterCount, spec));
+        }
+        double first = parseMillis(parameters[0], spec);
+        double second = parameters.length > 1 ? parseMillis(parameters[1], spec) : 0;
+
+        switch (distribution) {
+            case UNIFORM -> require(first <= second, "uniform minimum must not exceed the maximum", spec);
+            case LOGNORMAL -> require(first > 0, "lognormal mean must be positive", spec);
+            case PARETO -> require(first > 0 && second > first, "pareto minimum must be positive and below the median", spec);
+            default -> {
+            }
+        }
+        return new LatencyProfile(distribution, first, second);
+    }
+
+    /**
+     * Canonical form of a submitted profile, or {@code null} when it is blank.
+     *
+     * @throws IllegalArgumentException if the profile is malformed or its parameters are inconsistent
+     */
+    public static String normalize(String spec) {
+        return spec == null || spec.isBlank() ? null : parse(spec).toString();
+    }
+
+    /**
+     * Delay for one request in nanoseconds; 0 means respond immediately.
+     */
+    public long sampleNanos() {
+        if (distribution == Distribution.FIXED) {
+            return (long) (first * NANOS_PER_MILLI);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = switch (distribution) {
+            case UNIFORM -> first + random.nextDouble() * (second - first);
+            case NORMAL -> first + second * random.nextGaussian();
+            case LOGNORMAL -> Math.exp(mu + sigma * random.nextGaussian());
+            // 1 - nextDouble() lies in (0, 1], so the power never divides by zero
+            case PARETO -> first / Math.pow(1 - random.nextDouble(), inverseShape);
+            case FIXED -> first;
+        };
+        return (long) (Math.min(Math.max(millis, 0), MAX_SAMPLE_MILLIS) * NANOS_PER_MILLI);
+    }
+
+    /**
+     * Canonical form, as stored.
+     */
+    @Override
+    public String toString() {
+        return distribution.parameterCount == 1
+                ? distribution.token + ':' + formatMillis(first)
+                : distribution.token + ':' + formatMillis(first) + ',' + formatMillis(second);
+    }
+
+    private static double parseMillis(String value, String spec) {
+        try {
+            double millis = Double.parseDouble(value.trim());
+            require(millis >= 0 && millis <= MAX_SAMPLE_MILLIS,
+                    "parameters must be between 0 and " + MAX_SAMPLE_MILLIS + " ms", spec);
+            return millis;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Latency profile parameters must be numbers of milliseconds, got: " + spec);
+        }
+    }
+
+    private static void require(boolean condition, String message, String spec) {
+        if (!condition) {
+            throw new IllegalArgumentException("Invalid latency profile " + spec + ": " + message);
+        }
+    }
+
+    private static String formatMillis(double millis) {
+        return millis == Math.rint(millis) ? Long.toString((long) millis) : Double.toString(millis);
+    }
+
+    private enum Distribution {
+        FIXED("fixed", 1),
+        UNIFORM("uniform", 2),
+        NORMAL("normal", 2),
+        LOGNORMAL("lognormal", 2),
+        PARETO("pareto", 2);
+
+        private final String token;
+        private final int parameterCount;
+
+        Distribution(String token, int parameterCount) {
+            this.token = token;
+            this.parameterCount = parameterCount;
+        }
+
+        static Distribution fromName(String name) {
+            String normalized = name.toLowerCase(Locale.ROOT).replace("-", "");
+            for (Distribution distribution : values()) {
+                if (distribution.token.equals(normalized)) {
+                    return distribution;
+                }
+            }
+            throw new IllegalArgumentException("Unknown latency distribution: " + name);
+        }
+    }
+}
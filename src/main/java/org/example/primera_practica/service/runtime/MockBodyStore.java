@@ -0,0 +1,299 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.Getter;
+import org.example.primera_practica.repository.MockEndpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed disk store for large mock response bodies. A body is written once under the hex
+ * SHA-256 of its bytes, so identical payloads share a file and a stored file never changes while it
+ * is being served. Mocks reference bodies by that key; files are removed once no mock points to them.
+ *
+ * <p>Removal is deferred to a periodic sweep. A mock only references a key once its transaction commits,
+ * which may be after another mock released the same key, so a file is deleted only if no committed mock
+ * references it and it has not been stored again for a grace period. Storing an existing body refreshes
+ * its modification time; storing and sweeping the same key hold the same lock, so the refresh cannot
+ * slip between the sweep's checks and its delete. Files left by a previous run, whose in-memory database
+ * is gone, are swept on startup.</p>
+ */
+@Component
+public class MockBodyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockBodyStore.class);
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String SUFFIX = ".body";
+    private static final String TEMP_PREFIX = "upload-";
+    private static final int LOCK_STRIPES = 64;
+
+    private final MockEndpointRepository mockEndpointRepository;
+    private final Path directory;
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final long threshold;
+    @Getter
+    private final long maxUploadBytes;
+    private final long sweepGraceMillis;
+    // Keys that may have lost their last reference; the sweep decides
+    private final Set<String> releasedKeys = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock[] keyLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public MockBodyStore(MockEndpointRepository mockEndpointRepository,
+                         @Value("${mock.body-store.enabled:true}") boolean enabled,
+                         @Value("${mock.body-store.directory:${java.io.tmpdir}/primera-practica/bodies}") String directory,
+                         @Value("${mock.body-store.threshold:1048576}") long threshold,
+                         @Value("${mock.body-store.max-upload-bytes:268435456}") long maxUploadBytes,
+                         @Value("${mock.body-store.sweep-grace-ms:600000}") long sweepGraceMillis) {
+        this.mockEndpointRepository = mockEndpointRepository;
+        this.enabled = enabled;
+        this.directory = Path.of(directory).toAbsolutePath();
+        this.threshold = Math.max(0, threshold);
+        this.maxUploadBytes = maxUploadBytes;
+        this.sweepGraceMillis = Math.max(0, sweepGraceMillis);
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Whether a body of this many bytes should live on disk instead of in the database.
+     */
+    public boolean shouldStore(long size) {
+        return enabled && size >= threshold;
+    }
+
+    public StoredBody store(byte[] body) {
+        try (InputStream input = new ByteArrayInputStream(body)) {
+            return store(input, Long.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the body to a temporary file while hashing it, then moves it to its content address.
+     *
+     * @throws BodyTooLargeException if the body is longer than {@code maxBytes}; nothing is kept
+     */
+    public StoredBody store(InputStream body, long maxBytes) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, TEMP_PREFIX, ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (OutputStream output = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = body.read(buffer)) >= 0) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new BodyTooLargeException(maxBytes);
+                    }
+                    output.write(buffer, 0, read);
+                }
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(key);
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                if (Files.exists(target)) {
+                    // Restarts the grace period, so a pending sweep keeps the file for this new reference
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                } else {
+                    moveIntoPlace(temp, target);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // Collected by the sweep if it never gets attached, e.g. when the saving transaction rolls back
+            releasedKeys.add(key);
+            return new StoredBody(key, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid body key: " + key);
+        }
+        return directory.resolve(key + SUFFIX);
+    }
+
+    /**
+     * Hands the body to the sweep once the surrounding transaction commits; it is deleted unless a mock
+     * still, or again, uses it.
+     */
+    public void releaseAfterCommit(String key) {
+        if (key == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releasedKeys.add(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releasedKeys.add(key);
+            }
+        });
+    }
+
+    /**
+     * Deletes, after commit, every body used by a project that is about to be removed.
+     */
+    public void releaseProjectAfterCommit(Long projectId) {
+        mockEndpointRepository.findBodyKeysByProjectId(projectId).forEach(this::releaseAfterCommit);
+    }
+
+    /**
+     * Drops a freshly stored body that could not be attached to a mock.
+     */
+    public void discard(StoredBody storedBody) {
+        releasedKeys.add(storedBody.getKey());
+    }
+
+    /**
+     * Queues every file of the directory for the sweep; with an in-memory database none of them is referenced
+     * after a restart unless it was stored again since.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOrphans() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - sweepGraceMillis;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX)) {
+                    String key = name.substring(0, name.length() - SUFFIX.length());
+                    if (KEY_PATTERN.matcher(key).matches()) {
+                        releasedKeys.add(key);
+                    }
+                } else if (name.startsWith(TEMP_PREFIX) && lastModifiedMillis(file) < cutoff) {
+                    // An upload interrupted by a crash
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list stored mock bodies in {}: {}", directory, e.getMessage());
+        }
+        sweep();
+    }
+
+    @Scheduled(fixedDelayString = "${mock.body-store.sweep-interval-ms:60000}",
+               initialDelayString = "${mock.body-store.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    void sweep(long nowMillis) {
+        int deleted = 0;
+        for (String key : releasedKeys) {
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                Path file = resolve(key);
+                long modified = lastModifiedMillis(file);
+                if (modified < 0 || mockEndpointRepository.existsByBodyKey(key)) {
+                    releasedKeys.remove(key);
+                } else if (modified <= nowMillis - sweepGraceMillis) {
+                    Files.deleteIfExists(file);
+                    releasedKeys.remove(key);
+                    deleted++;
+                }
+                // Otherwise it was stored again recently and its mock may not have committed yet; retried next sweep
+            } catch (IOException e) {
+                logger.warn("Could not delete stored mock body {}: {}", key, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} unreferenced mock bodies", deleted);
+        }
+    }
+
+    private ReentrantLock lockFor(String key) {
+        return keyLocks[Math.floorMod(key.hashCode(), keyLocks.length)];
+    }
+
+    /**
+     * Modification time in epoch millis, or -1 if the file does not exist.
+     */
+    private static long lastModifiedMillis(Path file) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Same content stored concurrently
+            }
+        } catch (FileAlreadyExistsException ignored) {
+            // Same content stored concurrently
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @lombok.Value
+    public static class StoredBody {
+        String key;
+        long size;
+    }
+
+    public static class BodyTooLargeException extends IOException {
+
+        public BodyTooLargeException(long maxBytes) {
+            super("Body exceeds the maximum of " + maxBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.primera_practica.service.runtime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One {@link ProjectBulkhead} per project, so that a project flooded with traffic or slow delayed mocks saturates
+ * its own permits and queue instead of the servlet pool shared with every other project. Bulkheads are created on
+ * a project's first matched request; unknown project names never reach this point. A bulkhead is dropped once no
+ * project has its name any more. Off by default: delayed responses hold their permit while they wait, so a limit
+ * would cap how many slow connections a project can keep.
+ */
+@Component
+public class MockBulkheads {
+
+    private final ConcurrentMap<String, ProjectBulkhead> projects = new ConcurrentHashMap<>();
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final HttpStatus rejectionStatus;
+    private final long retryAfterSeconds;
+
+    public MockBulkheads(@Value("${mock.bulkhead.max-concurrent:0}") int maxConcurrent,
+                         @Value("${mock.bulkhead.max-queue:512}") int maxQueued,
+                         @Value("${mock.bulkhead.queue-timeout-ms:2000}") long queueTimeoutMillis,
+                         @Value("${mock.bulkhead.rejection-status:503}") int rejectionStatus,
+                         @Value("${mock.bulkhead.retry-after-seconds:1}") long retryAfterSeconds) {
+        HttpStatus status = HttpStatus.resolve(rejectionStatus);
+        if (status == null || !status.isError()) {
+            throw new IllegalArgumentException("mock.bulkhead.rejection-status must be a 4xx or 5xx code, got: " + rejectionStatus);
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.queueTimeoutMillis = Math.max(1, queueTimeoutMillis);
+        this.rejectionStatus = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Bulkhead of the project, or {@code null} when concurrency limits are disabled.
+     */
+    public ProjectBulkhead forProject(String projectName) {
+        if (maxConcurrent <= 0) {
+            return null;
+        }
+        ProjectBulkhead bulkhead = projects.get(projectName);
+        return bulkhead != null
+                ? bulkhead
+                : projects.computeIfAbsent(projectName, name -> new ProjectBulkhead(name, maxConcurrent, maxQueued));
+    }
+
+    /**
+     * Requests already holding the dropped bulkhead still release their permits on it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectNameReleased(ProjectNameReleasedEvent event) {
+        projects.remove(event.getProjectName());
+    }
+
+    public Collection<ProjectBulkhead> getProjects() {
+        return Collections.unmodifiableCollection(projects.values());
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public HttpStatus getRejectionStatus() {
+        return rejectionStatus;
+    }
+
+    /**
+     * Value of the Retry-After header on rejections; 0 or less omits the header.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.primera_practica.service.runtime;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared timer for simulated mock latency. Delayed requests park as pending timer entries instead of
+ * sleeping on a servlet worker thread; when a delay elapses the completion runs on a virtual thread,
+ * so the single timer thread never blocks on response I/O. Delays are scheduled in nanoseconds so that
+ * sampled sub-millisecond jitter is not rounded away.
+ */
+@Component
+public class MockDelayScheduler {
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService completionExecutor;
+
+    public MockDelayScheduler() {
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "mock-delay-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.completionExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("mock-delay-", 0).factory());
+    }
+
+    /**
+     * Returns a future completed on a completion thread once {@code delayNanos} have elapsed.
+     */
+    public CompletableFuture<Void> afterNanos(long delayNanos) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        timer.schedule(() -> completionExecutor.execute(() -> future.complete(null)),
+                delayNanos, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        completionExecutor.shutdown();
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Deadline-ordered index of the mocks currently held in the route table. Routes register their
+ * expiration dates when a project is loaded; the reaper only ever looks at the head of the index,
+ * so finding what expired costs the number of expired entries rather than a scan of every route.
+ */
+@Component
+public class MockExpiryIndex {
+
+    private static final Comparator<Deadline> ORDER = Comparator
+            .comparingLong(Deadline::getExpiresAtMillis)
+            .thenComparingLong(Deadline::getMockId);
+
+    private final ConcurrentSkipListSet<Deadline> deadlines = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentMap<Long, Deadline> byMockId = new ConcurrentHashMap<>();
+
+    public void track(CompiledMock mock) {
+        Deadline deadline = new Deadline(toEpochMillis(mock.getExpirationDate()), mock.getId(), mock.getProjectName());
+        Deadline previous = byMockId.put(mock.getId(), deadline);
+        if (previous != null && !previous.equals(deadline)) {
+            // The mock was reloaded with a new expiration date or under a renamed project
+            deadlines.remove(previous);
+        }
+        deadlines.add(deadline);
+    }
+
+    /**
+     * Removes every deadline at or before {@code nowMillis} and returns the expired mock ids by project name.
+     */
+    public Map<String, Set<Long>> pollExpired(long nowMillis) {
+        Map<String, Set<Long>> expired = new HashMap<>();
+        Iterator<Deadline> iterator = deadlines.iterator();
+        while (iterator.hasNext()) {
+            Deadline head = iterator.next();
+            if (head.getExpiresAtMillis() > nowMillis) {
+                break;
+            }
+            iterator.remove();
+            byMockId.remove(head.getMockId(), head);
+            expired.computeIfAbsent(head.getProjectName(), name -> new HashSet<>()).add(head.getMockId());
+        }
+        return expired;
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Value
+    static class Deadline {
+        long expiresAtMillis;
+        long mockId;
+        String projectName;
+    }
+}
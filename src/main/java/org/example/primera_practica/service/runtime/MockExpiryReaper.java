@@ -0,0 +1,59 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.service.MockEndpointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes expired mocks in two steps. Routes are evicted from the route table as soon as their
+ * deadline passes, driven by the {@link MockExpiryIndex}, without reloading the rest of their project; the database rows are purged on a slower
+ * schedule in bounded batches, each in its own short transaction, so a backlog of expired CI mocks
+ * never turns into one long delete.
+ */
+@Component
+public class MockExpiryReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockExpiryReaper.class);
+
+    private final MockExpiryIndex mockExpiryIndex;
+    private final MockRouteTable mockRouteTable;
+    private final MockEndpointService mockEndpointService;
+    private final int batchSize;
+
+    public MockExpiryReaper(MockExpiryIndex mockExpiryIndex,
+                            MockRouteTable mockRouteTable,
+                            MockEndpointService mockEndpointService,
+                            @Value("${mock.reaper.batch-size:500}") int batchSize) {
+        this.mockExpiryIndex = mockExpiryIndex;
+        this.mockRouteTable = mockRouteTable;
+        this.mockEndpointService = mockEndpointService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${mock.reaper.eviction-interval-ms:1000}")
+    public void evictExpiredRoutes() {
+        // Only the expired routes go; the rest of the project stays compiled
+        mockExpiryIndex.pollExpired(System.currentTimeMillis()).forEach(mockRouteTable::evictMocks);
+    }
+
+    @Scheduled(fixedDelayString = "${mock.reaper.purge-interval-ms:60000}",
+               initialDelayString = "${mock.reaper.purge-interval-ms:60000}")
+    public void purgeExpiredMocks() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = mockEndpointService.purgeExpiredMocks(cutoff, batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+
+        if (total > 0) {
+            logger.info("Purged {} expired mock endpoints", total);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.HttpMethod;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped hit counters for one mock or one project, split by status class. Only the labels of the mock are
+ * kept, not the compiled mock, so counters outliving a route reload do not pin its bodies in memory.
+ */
+public final class MockHitCounters {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder[] statusClasses = new LongAdder[5];
+    private final LongAdder totalNanos = new LongAdder();
+    // Labels of the last version served; replaced as a whole so readers never see a mix
+    private volatile Labels labels;
+
+    MockHitCounters(String projectName, HttpMethod method, String path) {
+        this.labels = new Labels(projectName, method, path);
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    void record(int status, long nanos) {
+        hits.increment();
+        int statusClass = status / 100 - 1;
+        if (statusClass >= 0 && statusClass < statusClasses.length) {
+            statusClasses[statusClass].increment();
+        }
+        totalNanos.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Follows an edit of the mock's method, path or project name. Only writes when a label changed, so
+     * steady-state hits do not share a dirty cache line.
+     */
+    void relabel(CompiledMock mock) {
+        Labels current = labels;
+        if (current.method != mock.getMethod()
+                || !current.path.equals(mock.getPath())
+                || !current.projectName.equals(mock.getProjectName())) {
+            labels = new Labels(mock.getProjectName(), mock.getMethod(), mock.getPath());
+        }
+    }
+
+    public String getProjectName() {
+        return labels.projectName;
+    }
+
+    /**
+     * {@code null} for project counters.
+     */
+    public HttpMethod getMethod() {
+        return labels.method;
+    }
+
+    /**
+     * {@code null} for project counters.
+     */
+    public String getPath() {
+        return labels.path;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @param statusClass 1 to 5 for 1xx to 5xx
+     */
+    public long getStatusClassCount(int statusClass) {
+        return statusClasses[statusClass - 1].sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    private static final class Labels {
+        private final String projectName;
+        private final HttpMethod method;
+        private final String path;
+
+        private Labels(String projectName, HttpMethod method, String path) {
+            this.projectName = projectName;
+            this.method = method;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Result of resolving a request path: the compiled mock plus any variables captured by its path template.
+ */
+@Getter
+public final class MockMatch {
+
+    private final CompiledMock mock;
+    private final Map<String, String> pathVariables;
+
+    public MockMatch(CompiledMock mock, Map<String, String> pathVariables) {
+        this.mock = mock;
+        this.pathVariables = pathVariables;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.primera_practica.service.runtime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit counters per mock and per project plus one latency histogram per pipeline stage. Counters are
+ * created on a mock's first hit; afterwards recording is a map lookup and striped adds only. A mock's
+ * counters are dropped once its deletion commits.
+ */
+@Component
+public class MockMetrics {
+
+    private final ConcurrentMap<Long, MockHitCounters> mocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MockHitCounters> projects = new ConcurrentHashMap<>();
+    private final Map<MockStage, LatencyHistogram> stages = new EnumMap<>(MockStage.class);
+    private final LongAdder notFound = new LongAdder();
+
+    public MockMetrics() {
+        for (MockStage stage : MockStage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+    }
+
+    public void recordStage(MockStage stage, long nanos) {
+        stages.get(stage).record(nanos);
+    }
+
+    public void recordResponse(CompiledMock mock, int status, long nanos) {
+        MockHitCounters mockCounters = mocks.get(mock.getId());
+        if (mockCounters == null) {
+            mockCounters = mocks.computeIfAbsent(mock.getId(),
+                    ignored -> new MockHitCounters(mock.getProjectName(), mock.getMethod(), mock.getPath()));
+        }
+        mockCounters.relabel(mock);
+        mockCounters.record(status, nanos);
+
+        MockHitCounters projectCounters = projects.get(mock.getProjectName());
+        if (projectCounters == null) {
+            projectCounters = projects.computeIfAbsent(mock.getProjectName(),
+                    projectName -> new MockHitCounters(projectName, null, null));
+        }
+        projectCounters.record(status, nanos);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMocksDeleted(MocksDeletedEvent event) {
+        mocks.keySet().removeAll(event.getMockIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectNameReleased(ProjectNameReleasedEvent event) {
+        projects.remove(event.getProjectName());
+    }
+
+    public void recordNotFound() {
+        notFound.increment();
+    }
+
+    public long getNotFound() {
+        return notFound.sum();
+    }
+
+    public LatencyHistogram getStage(MockStage stage) {
+        return stages.get(stage);
+    }
+
+    public MockHitCounters getMockCounters(Long mockId) {
+        return mocks.get(mockId);
+    }
+
+    public Map<Long, MockHitCounters> getMockCounters() {
+        return Collections.unmodifiableMap(mocks);
+    }
+
+    public Map<String, MockHitCounters> getProjectCounters() {
+        return Collections.unmodifiableMap(projects);
+    }
+}
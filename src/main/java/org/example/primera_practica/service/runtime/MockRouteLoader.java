@@ -0,0 +1,54 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.MockEndpoint;
+import org.example.primera_practica.repository.MockEndpointRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class MockRouteLoader {
+
+    private final MockEndpointRepository mockEndpointRepository;
+    private final MockBodyStore mockBodyStore;
+    private final MockExpiryIndex mockExpiryIndex;
+    private final RateLimitBuckets rateLimitBuckets;
+    private final CompiledBodyCache compiledBodyCache;
+
+    public MockRouteLoader(MockEndpointRepository mockEndpointRepository,
+                           MockBodyStore mockBodyStore,
+                           MockExpiryIndex mockExpiryIndex,
+                           RateLimitBuckets rateLimitBuckets,
+                           CompiledBodyCache compiledBodyCache) {
+        this.mockEndpointRepository = mockEndpointRepository;
+        this.mockBodyStore = mockBodyStore;
+        this.mockExpiryIndex = mockExpiryIndex;
+        this.rateLimitBuckets = rateLimitBuckets;
+        this.compiledBodyCache = compiledBodyCache;
+    }
+
+    /**
+     * Loads the project's unexpired mocks and registers their deadlines, so the reaper drops the
+     * project from the route table as soon as one of them expires. Rate limit buckets and the bodies of
+     * unchanged mocks carry over from the previous load.
+     */
+    @Transactional(readOnly = true)
+    public ProjectRoutes loadProject(String projectName) {
+        List<MockEndpoint> live = mockEndpointRepository.findAllLiveByProjectNameWithHeaders(projectName, LocalDateTime.now());
+        if (!live.isEmpty()) {
+            mockEndpointRepository.fetchVariants(live.stream().map(MockEndpoint::getId).toList());
+        }
+        List<CompiledMock> mocks = live.stream()
+                .map(mock -> CompiledMock.from(
+                        mock,
+                        compiledBodyCache.bodiesFor(mock,
+                                mock.getBodyKey() != null ? mockBodyStore.resolve(mock.getBodyKey()) : null),
+                        rateLimitBuckets.forMock(mock.getId(), mock.getRateLimit()),
+                        rateLimitBuckets.forProject(mock.getProject().getId(), mock.getProject().getRateLimit())))
+                .toList();
+        mocks.forEach(mockExpiryIndex::track);
+        return mocks.isEmpty() ? ProjectRoutes.EMPTY : new ProjectRoutes(mocks);
+    }
+}
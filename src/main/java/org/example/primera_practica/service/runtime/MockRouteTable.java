@@ -0,0 +1,125 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory route index used by the mock serving path so that a hit does not touch the database.
+ * Projects are loaded lazily on first use and dropped whenever one of their mocks changes;
+ * the next hit reloads them. Expired mocks are only removed from their project's routes.
+ */
+@Component
+public class MockRouteTable {
+
+    // Unknown project names are cached as empty routes too, but only up to this many entries.
+    private static final int MAX_CACHED_PROJECTS = 4096;
+
+    private final MockRouteLoader mockRouteLoader;
+    private final ConcurrentMap<String, ProjectRoutes> projects = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<ProjectRoutes>> pendingLoads = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public MockRouteTable(MockRouteLoader mockRouteLoader) {
+        this.mockRouteLoader = mockRouteLoader;
+    }
+
+    public MockMatch find(String projectName, HttpMethod method, String path) {
+        return routesFor(projectName).find(method, path);
+    }
+
+    public void invalidateProject(String projectName) {
+        generation.incrementAndGet();
+        projects.remove(projectName);
+    }
+
+    /**
+     * Drops expired mocks from a loaded project without reloading the others. A load racing with this
+     * leaves nothing stale: it only returns mocks unexpired at query time and tracks their deadlines again.
+     */
+    public void evictMocks(String projectName, Set<Long> mockIds) {
+        projects.computeIfPresent(projectName, (name, routes) -> routes.without(mockIds));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        projects.clear();
+    }
+
+    /**
+     * Defers the invalidation until the surrounding transaction commits, so a concurrent reload
+     * cannot observe the old rows and cache them again. Outside a transaction it runs immediately.
+     */
+    public void invalidateProjectAfterCommit(String projectName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateProject(projectName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateProject(projectName);
+            }
+        });
+    }
+
+    private ProjectRoutes routesFor(String projectName) {
+        ProjectRoutes routes = projects.get(projectName);
+        if (routes != null) {
+            return routes;
+        }
+
+        // With virtual threads thousands of requests can miss at once; only one of them hits the database.
+        CompletableFuture<ProjectRoutes> pending = new CompletableFuture<>();
+        CompletableFuture<ProjectRoutes> inFlight = pendingLoads.putIfAbsent(projectName, pending);
+        if (inFlight != null) {
+            return awaitLoad(inFlight);
+        }
+        try {
+            ProjectRoutes loaded = load(projectName);
+            pending.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLoads.remove(projectName, pending);
+        }
+    }
+
+    private ProjectRoutes load(String projectName) {
+        long observedGeneration = generation.get();
+        ProjectRoutes loaded = mockRouteLoader.loadProject(projectName);
+        if (loaded.isEmpty() && projects.size() >= MAX_CACHED_PROJECTS) {
+            return loaded;
+        }
+        ProjectRoutes existing = projects.putIfAbsent(projectName, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        // An invalidation raced with the load; drop what we cached, the next hit reloads.
+        if (generation.get() != observedGeneration) {
+            projects.remove(projectName, loaded);
+        }
+        return loaded;
+    }
+
+    private static ProjectRoutes awaitLoad(CompletableFuture<ProjectRoutes> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.primera_practica.service.runtime;
+
+/**
+ * Stages of the mock serving pipeline that get their own latency histogram.
+ */
+public enum MockStage {
+    LOOKUP,
+    // Time spent waiting in the project's bulkhead queue; only queued requests record it
+    QUEUE,
+    JWT,
+    DELAY,
+    WRITE
+}
@@ -0,0 +1,14 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.Value;
+
+import java.util.Collection;
+
+/**
+ * Published when mocks are deleted, purged after expiry or removed with their project. Components keeping
+ * in-memory state per mock id listen for it after the deleting transaction commits and drop that state.
+ */
+@Value
+public class MocksDeletedEvent {
+    Collection<Long> mockIds;
+}
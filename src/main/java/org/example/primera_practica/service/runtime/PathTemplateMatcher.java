@@ -0,0 +1,244 @@
+package org.example.primera_practica.service.runtime;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment-level radix tree over path templates. Supported segment forms:
+ * <ul>
+ *     <li>literal text, matched exactly;</li>
+ *     <li>{@code {name}} or {@code :name}, matching one segment and capturing it as a path variable;</li>
+ *     <li>{@code *}, matching one segment without capturing it;</li>
+ *     <li>{@code **} as the last segment, matching the rest of the path (zero or more segments).</li>
+ * </ul>
+ * Purely literal templates are answered from a hash map. Templates are tried per segment in order of
+ * specificity (literal, then single-segment variable, then {@code **}), backtracking only when a more
+ * specific branch dead-ends. The cost depends on the number of segments in the request path, not on
+ * the number of templates registered. Paths are matched in their raw, percent-encoded form, so an encoded
+ * {@code /} never splits a segment; captured variables are decoded.
+ *
+ * <p>Instances are built once and then only read, so they can be shared between threads.</p>
+ */
+public final class PathTemplateMatcher<T> {
+
+    private static final String[] NO_VARIABLES = new String[0];
+    // An unnamed "*" still occupies a capture slot; toVariables skips it.
+    private static final String UNNAMED = "";
+
+    private final Map<String, T> literalPaths = new HashMap<>();
+    private final Node<T> root = new Node<>();
+    private int maxVariables;
+
+    /**
+     * Registers a template. Returns {@code false} if an equivalent template was already registered,
+     * in which case the first registration is kept.
+     */
+    public boolean add(String template, T value) {
+        if (!isTemplate(template)) {
+            return literalPaths.putIfAbsent(template, value) == null;
+        }
+
+        String[] segments = split(template);
+        List<String> variableNames = new ArrayList<>();
+        Node<T> node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment) && i == segments.length - 1) {
+                if (node.tailValue != null) {
+                    return false;
+                }
+                node.tailValue = value;
+                node.tailVariableNames = variableNames.toArray(NO_VARIABLES);
+                maxVariables = Math.max(maxVariables, variableNames.size());
+                return true;
+            }
+            String variableName = variableName(segment);
+            if (variableName != null) {
+                variableNames.add(variableName);
+                if (node.variableChild == null) {
+                    node.variableChild = new Node<>();
+                }
+                node = node.variableChild;
+            } else {
+                node = node.literalChildren.computeIfAbsent(segment, key -> new Node<>());
+            }
+        }
+        if (node.value != null) {
+            return false;
+        }
+        node.value = value;
+        node.variableNames = variableNames.toArray(NO_VARIABLES);
+        maxVariables = Math.max(maxVariables, variableNames.size());
+        return true;
+    }
+
+    /**
+     * Key under which a template is registered: variable names are erased, so two templates have the same
+     * key exactly when {@link #add} would reject the second one.
+     */
+    public static String routeKey(String template) {
+        if (!isTemplate(template)) {
+            return template;
+        }
+        String[] segments = split(template);
+        StringBuilder key = new StringBuilder(template.length());
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            key.append('/');
+            if ("**".equals(segment) && i == segments.length - 1) {
+                key.append("**");
+            } else {
+                key.append(variableName(segment) != null ? "{}" : segment);
+            }
+        }
+        return key.toString();
+    }
+
+    public Match<T> match(String path) {
+        T literal = literalPaths.get(path);
+        if (literal != null) {
+            return new Match<>(literal, Map.of());
+        }
+        if (root.isLeaf()) {
+            return null;
+        }
+
+        String[] captured = maxVariables > 0 ? new String[maxVariables] : NO_VARIABLES;
+        // Skip the leading '/', which every normalized path has.
+        int start = path.startsWith("/") ? 1 : 0;
+        return match(root, path, start, captured, 0);
+    }
+
+    public boolean isEmpty() {
+        return literalPaths.isEmpty() && root.isLeaf();
+    }
+
+    private Match<T> match(Node<T> node, String path, int start, String[] captured, int capturedCount) {
+        if (start > path.length()) {
+            if (node.value != null) {
+                return new Match<>(node.value, toVariables(node.variableNames, captured));
+            }
+            // "/files/**" also matches "/files" itself.
+            return node.tailValue != null
+                    ? new Match<>(node.tailValue, toVariables(node.tailVariableNames, captured))
+                    : null;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        if (!node.literalChildren.isEmpty()) {
+            Node<T> literalChild = node.literalChildren.get(path.substring(start, end));
+            if (literalChild != null) {
+                Match<T> match = match(literalChild, path, end + 1, captured, capturedCount);
+                if (match != null) {
+                    return match;
+                }
+            }
+        }
+
+        if (node.variableChild != null && end > start) {
+            if (capturedCount < captured.length) {
+                captured[capturedCount] = path.substring(start, end);
+            }
+            Match<T> match = match(node.variableChild, path, end + 1, captured, capturedCount + 1);
+            if (match != null) {
+                return match;
+            }
+        }
+
+        if (node.tailValue != null) {
+            return new Match<>(node.tailValue, toVariables(node.tailVariableNames, captured));
+        }
+        return null;
+    }
+
+    private static Map<String, String> toVariables(String[] names, String[] captured) {
+        if (names.length == 0) {
+            return Map.of();
+        }
+        Map<String, String> variables = new LinkedHashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            if (!names[i].isEmpty()) {
+                variables.put(names[i], decode(captured[i]));
+            }
+        }
+        return variables;
+    }
+
+    private static String decode(String segment) {
+        if (segment.indexOf('%') < 0) {
+            return segment;
+        }
+        try {
+            return UriUtils.decode(segment, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Malformed escapes are passed through as sent
+            return segment;
+        }
+    }
+
+    static boolean isTemplate(String path) {
+        return path.indexOf('{') >= 0 || path.indexOf(':') >= 0 || path.indexOf('*') >= 0;
+    }
+
+    /**
+     * Returns the variable name for a variable segment, {@code null} for a literal segment.
+     */
+    private static String variableName(String segment) {
+        if ("*".equals(segment)) {
+            return UNNAMED;
+        }
+        if (segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")) {
+            return segment.substring(1, segment.length() - 1);
+        }
+        if (segment.length() > 1 && segment.startsWith(":")) {
+            return segment.substring(1);
+        }
+        return null;
+    }
+
+    private static String[] split(String template) {
+        String trimmed = template.startsWith("/") ? template.substring(1) : template;
+        return trimmed.split("/", -1);
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literalChildren = new HashMap<>();
+        private Node<T> variableChild;
+        private T value;
+        private String[] variableNames = NO_VARIABLES;
+        private T tailValue;
+        private String[] tailVariableNames = NO_VARIABLES;
+
+        private boolean isLeaf() {
+            return literalChildren.isEmpty() && variableChild == null && value == null && tailValue == null;
+        }
+    }
+
+    public static final class Match<T> {
+        private final T value;
+        private final Map<String, String> pathVariables;
+
+        Match(T value, Map<String, String> pathVariables) {
+            this.value = value;
+            this.pathVariables = pathVariables;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public Map<String, String> getPathVariables() {
+            return pathVariables;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.primera_practica.service.runtime;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit of one project. Up to {@code maxConcurrent} requests hold a permit, from admission until
+ * their response completes, including any simulated delay. Up to {@code maxQueued} more wait in a FIFO queue
+ * without holding a thread. A released permit is handed straight to the oldest waiter. Every enqueue and every
+ * release drains the queue against the free permits, so a waiter cannot be stranded while a permit is free.
+ */
+public final class ProjectBulkhead {
+
+    private final String projectName;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Ticket> waiters = new ConcurrentLinkedQueue<>();
+    private final LongAdder rejected = new LongAdder();
+
+    ProjectBulkhead(String projectName, int maxConcurrent, int maxQueued) {
+        this.projectName = projectName;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Takes a permit if one is free and nobody is waiting for it.
+     */
+    public boolean tryAcquire() {
+        return queued.get() == 0 && takePermit();
+    }
+
+    /**
+     * Claims a place in the queue; the caller must then {@link #enqueue} or give it back by being rejected.
+     */
+    public boolean tryReserveQueueSlot() {
+        int current = queued.get();
+        while (current < maxQueued) {
+            int witness = queued.compareAndExchange(current, current + 1);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Queues a request for which {@link #tryReserveQueueSlot} succeeded. {@code onGranted} runs, possibly right
+     * away on this thread, once a permit has been handed to the request; it must not block.
+     */
+    public Ticket enqueue(Runnable onGranted) {
+        Ticket ticket = new Ticket(onGranted);
+        waiters.add(ticket);
+        drain();
+        return ticket;
+    }
+
+    /**
+     * Returns a permit, handing it to the oldest waiter if there is one.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Requests turned away because the queue was full or their wait timed out.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private boolean takePermit() {
+        int current = inFlight.get();
+        while (current < maxConcurrent) {
+            int witness = inFlight.compareAndExchange(current, current + 1);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && takePermit()) {
+            Ticket ticket = waiters.poll();
+            if (ticket != null && ticket.claim()) {
+                queued.decrementAndGet();
+                ticket.onGranted.run();
+            } else {
+                // The waiter timed out or another thread served it; give the permit back and look again
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A queued request; exactly one of granting and {@link #cancel()} wins.
+     */
+    public final class Ticket {
+
+        private final Runnable onGranted;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Ticket(Runnable onGranted) {
+            this.onGranted = onGranted;
+        }
+
+        /**
+         * Gives up waiting. Returns false if a permit was already handed over, in which case the request is
+         * served as usual.
+         */
+        public boolean cancel() {
+            if (!claim()) {
+                return false;
+            }
+            waiters.remove(this);
+            queued.decrementAndGet();
+            rejected.increment();
+            return true;
+        }
+
+        private boolean claim() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+}
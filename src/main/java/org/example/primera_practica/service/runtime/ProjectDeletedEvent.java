@@ -0,0 +1,12 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.Value;
+
+/**
+ * Published when a project is deleted, along with a {@link MocksDeletedEvent} for its mocks. Components keeping
+ * in-memory state per project id listen for it after the deleting transaction commits and drop that state.
+ */
+@Value
+public class ProjectDeletedEvent {
+    Long projectId;
+}
@@ -0,0 +1,12 @@
+package org.example.primera_practica.service.runtime;
+
+import lombok.Value;
+
+/**
+ * Published when a project is deleted or renamed and no other project has its former name. Mocks are served
+ * under the project name, so state kept per name (hit counters, bulkheads) is dropped when it is released.
+ */
+@Value
+public class ProjectNameReleasedEvent {
+    String projectName;
+}
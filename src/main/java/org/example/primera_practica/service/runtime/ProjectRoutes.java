@@ -0,0 +1,55 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.HttpMethod;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only route index for a single project: HTTP method first, then a compiled path matcher.
+ */
+public final class ProjectRoutes {
+
+    static final ProjectRoutes EMPTY = new ProjectRoutes(List.of());
+
+    private final List<CompiledMock> mocks;
+    private final EnumMap<HttpMethod, PathTemplateMatcher<CompiledMock>> routesByMethod = new EnumMap<>(HttpMethod.class);
+
+    ProjectRoutes(Collection<CompiledMock> mocks) {
+        this.mocks = List.copyOf(mocks);
+        for (CompiledMock mock : this.mocks) {
+            // Project names are not unique; when two projects share a route the first one loaded wins.
+            routesByMethod.computeIfAbsent(mock.getMethod(), method -> new PathTemplateMatcher<>())
+                    .add(mock.getPath(), mock);
+        }
+    }
+
+    public MockMatch find(HttpMethod method, String path) {
+        PathTemplateMatcher<CompiledMock> routes = routesByMethod.get(method);
+        if (routes == null) {
+            return null;
+        }
+        PathTemplateMatcher.Match<CompiledMock> match = routes.match(path);
+        return match != null ? new MockMatch(match.getValue(), match.getPathVariables()) : null;
+    }
+
+    /**
+     * Copy of these routes without the given mocks, reusing the compiled mocks that remain; {@code this}
+     * when none of them is present.
+     */
+    ProjectRoutes without(Set<Long> mockIds) {
+        List<CompiledMock> remaining = mocks.stream()
+                .filter(mock -> !mockIds.contains(mock.getId()))
+                .toList();
+        if (remaining.size() == mocks.size()) {
+            return this;
+        }
+        return remaining.isEmpty() ? EMPTY : new ProjectRoutes(remaining);
+    }
+
+    public boolean isEmpty() {
+        return routesByMethod.isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.primera_practica.service.runtime;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsed rate limit of a mock or project, written as {@code <permits>/<s|m|h>[,<burst>]}:
+ * <ul>
+ *     <li>{@code 10/s}: ten requests per second, up to ten at once</li>
+ *     <li>{@code 600/m,20}: ten per second on average, at most twenty in a burst</li>
+ * </ul>
+ * The burst defaults to the number of permits. {@link RateLimitBuckets} keeps one {@link TokenBucket} per limit.
+ */
+public final class RateLimit {
+
+    private static final long MAX_PERMITS = 1_000_000_000L;
+
+    private final long permits;
+    private final Unit unit;
+    private final long burst;
+
+    private RateLimit(long permits, Unit unit, long burst) {
+        this.permits = permits;
+        this.unit = unit;
+        this.burst = burst;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the limit is malformed or out of range
+     */
+    public static RateLimit parse(String spec) {
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Rate limit must look like <permits>/<s|m|h>[,<burst>], got: " + spec);
+        }
+        String[] periodAndBurst = spec.substring(slash + 1).split(",", -1);
+        if (periodAndBurst.length > 2) {
+            throw new IllegalArgumentException("Rate limit takes at most a burst after the period, got: " + spec);
+        }
+        long permits = parseCount(spec.substring(0, slash), spec);
+        Unit unit = Unit.fromName(periodAndBurst[0].trim());
+        long burst = periodAndBurst.length > 1 ? parseCount(periodAndBurst[1], spec) : permits;
+        return new RateLimit(permits, unit, burst);
+    }
+
+    /**
+     * Canonical form of a submitted limit, or {@code null} when it is blank.
+     *
+     * @throws IllegalArgumentException if the limit is malformed or out of range
+     */
+    public static String normalize(String spec) {
+        return spec == null || spec.isBlank() ? null : parse(spec).toString();
+    }
+
+    public TokenBucket newBucket() {
+        return new TokenBucket(Math.max(1L, unit.nanos / permits), burst);
+    }
+
+    /**
+     * Canonical form, as stored.
+     */
+    @Override
+    public String toString() {
+        return burst == permits ? permits + "/" + unit.token : permits + "/" + unit.token + "," + burst;
+    }
+
+    private static long parseCount(String value, String spec) {
+        try {
+            long count = Long.parseLong(value.trim());
+            if (count < 1 || count > MAX_PERMITS) {
+                throw new IllegalArgumentException("Invalid rate limit " + spec + ": counts must be between 1 and " + MAX_PERMITS);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rate limit permits and burst must be whole numbers, got: " + spec);
+        }
+    }
+
+    private enum Unit {
+        SECOND("s", TimeUnit.SECONDS.toNanos(1)),
+        MINUTE("m", TimeUnit.MINUTES.toNanos(1)),
+        HOUR("h", TimeUnit.HOURS.toNanos(1));
+
+        private final String token;
+        private final long nanos;
+
+        Unit(String token, long nanos) {
+            this.token = token;
+            this.nanos = nanos;
+        }
+
+        static Unit fromName(String name) {
+            String normalized = name.toLowerCase(Locale.ROOT);
+            for (Unit unit : values()) {
+                if (unit.token.equals(normalized)) {
+                    return unit;
+                }
+            }
+            throw new IllegalArgumentException("Unknown rate limit period (expected s, m or h): " + name);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.primera_practica.service.runtime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token buckets of the rate-limited mocks and projects, kept across route loads. A reload after an edit
+ * reuses the bucket as long as the limit is unchanged, so editing a mock or adding one to a project does
+ * not hand clients a full burst. Buckets are only touched when routes are loaded, never per request.
+ */
+@Component
+public class RateLimitBuckets {
+
+    private final ConcurrentMap<Long, LimitedBucket> mocks = new ConcurrentHashMap<>();
+    // Project names are not unique, so project buckets are keyed by id
+    private final ConcurrentMap<Long, LimitedBucket> projects = new ConcurrentHashMap<>();
+
+    /**
+     * @param rateLimit the mock's stored limit, or {@code null} when it has none
+     */
+    public TokenBucket forMock(Long mockId, String rateLimit) {
+        return bucketFor(mocks, mockId, rateLimit);
+    }
+
+    /**
+     * @param rateLimit the project's stored limit, or {@code null} when it has none
+     */
+    public TokenBucket forProject(Long projectId, String rateLimit) {
+        return bucketFor(projects, projectId, rateLimit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMocksDeleted(MocksDeletedEvent event) {
+        mocks.keySet().removeAll(event.getMockIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        projects.remove(event.getProjectId());
+    }
+
+    private static TokenBucket bucketFor(ConcurrentMap<Long, LimitedBucket> buckets, Long id, String rateLimit) {
+        if (rateLimit == null) {
+            buckets.remove(id);
+            return null;
+        }
+        return buckets.compute(id, (key, current) -> current != null && current.rateLimit.equals(rateLimit)
+                ? current
+                : new LimitedBucket(rateLimit, RateLimit.parse(rateLimit).newBucket())).bucket;
+    }
+
+    private static final class LimitedBucket {
+        // Stored limits are canonical, so equal limits compare equal
+        private final String rateLimit;
+        private final TokenBucket bucket;
+
+        private LimitedBucket(String rateLimit, TokenBucket bucket) {
+            this.rateLimit = rateLimit;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.primera_practica.service.runtime;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response body compiled once from a template into a flat node list. Literal runs are pre-encoded in the mock's
+ * charset, so a request only copies them and resolves the placeholders against its {@link TemplateValues}.
+ * <p>
+ * Placeholders are {@code {{path.<name>}}}, {@code {{query.<name>}}}, {@code {{header.<name>}}},
+ * {@code {{jwt.sub}}}, {@code {{request.method}}}, {@code {{request.path}}}, {@code {{now}}} (ISO-8601 instant)
+ * and {@code {{now.epochMillis}}}. Anything else between braces, and an unterminated {@code {{}, is kept as text.
+ * Values are escaped for the body's format, so a header cannot break out of a JSON string or an XML element.
+ */
+public final class ResponseTemplate {
+
+    // Buffers that grew past this for one large response are not kept for the next one
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final ThreadLocal<TemplateBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> new TemplateBuffer(INITIAL_CAPACITY));
+
+    private final Node[] nodes;
+    private final Charset charset;
+    private final boolean utf8;
+    private final Escaping escaping;
+
+    private ResponseTemplate(Node[] nodes, Charset charset, Escaping escaping) {
+        this.nodes = nodes;
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.escaping = escaping;
+    }
+
+    public static ResponseTemplate compile(String source, Charset charset, Escaping escaping) {
+        List<Node> nodes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+            Node placeholder = parsePlaceholder(source.substring(open + 2, close).trim());
+            if (placeholder == null) {
+                literal.append(source, position, close + 2);
+            } else {
+                literal.append(source, position, open);
+                addLiteral(nodes, literal, charset);
+                nodes.add(placeholder);
+            }
+            position = close + 2;
+        }
+        addLiteral(nodes, literal, charset);
+        return new ResponseTemplate(nodes.toArray(new Node[0]), charset, escaping);
+    }
+
+    /**
+     * Renders into this thread's reusable buffer, valid until the thread renders again.
+     */
+    public TemplateBuffer render(TemplateValues values) {
+        TemplateBuffer buffer = BUFFERS.get();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new TemplateBuffer(INITIAL_CAPACITY);
+            BUFFERS.set(buffer);
+        }
+        buffer.reset();
+        for (Node node : nodes) {
+            switch (node.kind) {
+                case LITERAL -> buffer.write(node.literal);
+                case PATH_VARIABLE -> writeValue(buffer, values.pathVariable(node.name));
+                case QUERY_PARAMETER -> writeValue(buffer, values.queryParameter(node.name));
+                case HEADER -> writeValue(buffer, values.header(node.name));
+                case JWT_SUBJECT -> writeValue(buffer, values.jwtSubject());
+                case REQUEST_METHOD -> writeValue(buffer, values.method());
+                case REQUEST_PATH -> writeValue(buffer, values.path());
+                case NOW -> buffer.writeAscii(
+                        DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(values.currentTimeMillis())));
+                case NOW_EPOCH_MILLIS -> buffer.writeAscii(Long.toString(values.currentTimeMillis()));
+            }
+        }
+        return buffer;
+    }
+
+    private void writeValue(TemplateBuffer buffer, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!utf8) {
+            buffer.write(escape(value).getBytes(charset));
+            return;
+        }
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            String replacement = replacement(value.charAt(i));
+            if (replacement != null) {
+                buffer.writeAscii(replacement);
+                i++;
+            } else {
+                i += buffer.writeUtf8(value, i);
+            }
+        }
+    }
+
+    private String escape(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = replacement(value.charAt(i));
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(value.charAt(i));
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+
+    private String replacement(char c) {
+        return switch (escaping) {
+            case NONE -> null;
+            case JSON -> switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            case MARKUP -> switch (c) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+        };
+    }
+
+    private static Node parsePlaceholder(String expression) {
+        switch (expression) {
+            case "jwt.sub":
+                return new Node(Kind.JWT_SUBJECT, null, null);
+            case "request.method":
+                return new Node(Kind.REQUEST_METHOD, null, null);
+            case "request.path":
+                return new Node(Kind.REQUEST_PATH, null, null);
+            case "now":
+                return new Node(Kind.NOW, null, null);
+            case "now.epochMillis":
+                return new Node(Kind.NOW_EPOCH_MILLIS, null, null);
+            default:
+                break;
+        }
+        int dot = expression.indexOf('.');
+        if (dot <= 0 || dot == expression.length() - 1) {
+            return null;
+        }
+        String name = expression.substring(dot + 1);
+        return switch (expression.substring(0, dot)) {
+            case "path" -> new Node(Kind.PATH_VARIABLE, null, name);
+            case "query" -> new Node(Kind.QUERY_PARAMETER, null, name);
+            case "header" -> new Node(Kind.HEADER, null, name);
+            default -> null;
+        };
+    }
+
+    private static void addLiteral(List<Node> nodes, StringBuilder literal, Charset charset) {
+        if (!literal.isEmpty()) {
+            nodes.add(new Node(Kind.LITERAL, literal.toString().getBytes(charset), null));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * How placeholder values are escaped, chosen from the mock's content type.
+     */
+    public enum Escaping {
+        NONE,
+        JSON,
+        MARKUP
+    }
+
+    private enum Kind {
+        LITERAL,
+        PATH_VARIABLE,
+        QUERY_PARAMETER,
+        HEADER,
+        JWT_SUBJECT,
+        REQUEST_METHOD,
+        REQUEST_PATH,
+        NOW,
+        NOW_EPOCH_MILLIS
+    }
+
+    private static final class Node {
+        private final Kind kind;
+        private final byte[] literal;
+        private final String name;
+
+        private Node(Kind kind, byte[] literal, String name) {
+            this.kind = kind;
+            this.literal = literal;
+            this.name = name;
+        }
+    }
+}
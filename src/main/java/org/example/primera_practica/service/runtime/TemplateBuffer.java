@@ -0,0 +1,100 @@
+package org.example.primera_practica.service.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer a {@link ResponseTemplate} renders into. One instance is kept per thread and reused, so
+ * the rendered bytes are only valid until the same thread renders again.
+ */
+public final class TemplateBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+    TemplateBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(bytes, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    void write(byte[] source) {
+        ensureCapacity(source.length);
+        System.arraycopy(source, 0, bytes, size, source.length);
+        size += source.length;
+    }
+
+    void write(int b) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) b;
+    }
+
+    /**
+     * Appends the character at {@code index} as UTF-8 without an intermediate array and returns how many chars
+     * it consumed (two for a surrogate pair). Unpaired surrogates become {@code ?}, as {@link String#getBytes} does.
+     */
+    int writeUtf8(String source, int index) {
+        char c = source.charAt(index);
+        if (c < 0x80) {
+            write(c);
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            bytes[size++] = (byte) (0xC0 | (c >> 6));
+            bytes[size++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            int codePoint = Character.isHighSurrogate(c) && index + 1 < source.length()
+                    && Character.isLowSurrogate(source.charAt(index + 1))
+                    ? Character.toCodePoint(c, source.charAt(index + 1))
+                    : -1;
+            if (codePoint < 0) {
+                write('?');
+                return 1;
+            }
+            ensureCapacity(4);
+            bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+            bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            return 2;
+        } else {
+            ensureCapacity(3);
+            bytes[size++] = (byte) (0xE0 | (c >> 12));
+            bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[size++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return 1;
+    }
+
+    void writeAscii(String source) {
+        int length = source.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) source.charAt(i);
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.primera_practica.service.runtime;
+
+/**
+ * Request data a {@link ResponseTemplate} can reference. Lookups return {@code null} when the value is absent,
+ * which renders as nothing.
+ */
+public interface TemplateValues {
+
+    String pathVariable(String name);
+
+    /**
+     * First value of the parameter in the query string; form bodies are not consulted.
+     */
+    String queryParameter(String name);
+
+    String header(String name);
+
+    /**
+     * Subject of the verified bearer token, only known for mocks that require a JWT.
+     */
+    String jwtSubject();
+
+    String method();
+
+    String path();
+
+    long currentTimeMillis();
+}
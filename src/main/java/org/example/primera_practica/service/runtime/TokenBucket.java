@@ -0,0 +1,76 @@
+package org.example.primera_practica.service.runtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Rather than a token count and a refill timestamp, the whole state is one
+ * {@code long}: the instant, on the {@link System#nanoTime()} scale, at which the bucket would be full again.
+ * Admitting a request pushes that instant one emission interval later. A request is rejected while the instant
+ * lies more than {@code burst - 1} intervals ahead, which is exactly an empty bucket. The refill therefore needs
+ * no arithmetic and is exact to the nanosecond. A rejection only reads the state, so clients hammering a
+ * limited mock do not contend on its cache line, and admissions never overshoot the limit under contention.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long intervalNanos, long burst) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = saturatedMultiply(intervalNanos, burst - 1);
+        // Starts full
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @param nowNanos current {@link System#nanoTime()}, typically the request's start time
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        long current = fullAt.get();
+        while (true) {
+            // Compared as a difference so that a wrapping nanoTime stays correct
+            long start = current - nowNanos > 0 ? current : nowNanos;
+            long waitNanos = start - nowNanos - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            long witness = fullAt.compareAndExchange(current, start + intervalNanos);
+            if (witness == current) {
+                return 0;
+            }
+            current = witness;
+        }
+    }
+
+    /**
+     * Nanoseconds until a token is available, or 0 if one is available now. Only reads the bucket.
+     */
+    public long waitNanos(long nowNanos) {
+        long current = fullAt.get();
+        long start = current - nowNanos > 0 ? current : nowNanos;
+        return Math.max(0, start - nowNanos - toleranceNanos);
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that another limit then rejected.
+     * Moving the instant back below the present is harmless: admissions start from the present.
+     */
+    public void refund() {
+        fullAt.getAndAdd(-intervalNanos);
+    }
+
+    /**
+     * Huge bursts of slow rates would overflow; capping keeps the wait arithmetic in range.
+     */
+    private static long saturatedMultiply(long left, long right) {
+        try {
+            return Math.multiplyExact(left, right);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 4;
+        }
+    }
+}
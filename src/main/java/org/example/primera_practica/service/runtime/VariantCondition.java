@@ -0,0 +1,211 @@
+package org.example.primera_practica.service.runtime;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * One compiled condition of a response variant. Conditions are written one per line:
+ * <pre>
+ * query.status = active        query parameter equals a value
+ * header.Accept ~ .*json.*     header matches a regular expression (whole value)
+ * header.X-Debug               header is present
+ * $.user.type = admin          JSONPath into the request body
+ * body ~ (?s).*urgent.*        raw request body
+ * </pre>
+ * A value may be wrapped in double quotes to keep surrounding spaces. JSONPath supports {@code .name},
+ * {@code ['name']} and {@code [index]} steps. Regular expressions and paths are compiled here, once per mock version.
+ */
+public final class VariantCondition {
+
+    private final Source source;
+    private final String name;
+    private final Object[] jsonPath;
+    private final Operator operator;
+    private final String value;
+    private final Pattern pattern;
+
+    private VariantCondition(Source source, String name, Object[] jsonPath, Operator operator, String value) {
+        this.source = source;
+        this.name = name;
+        this.jsonPath = jsonPath;
+        this.operator = operator;
+        this.value = value;
+        this.pattern = operator == Operator.MATCHES ? compilePattern(value) : null;
+    }
+
+    /**
+     * Parses a variant's condition text; blank lines and lines starting with {@code #} are ignored.
+     *
+     * @throws IllegalArgumentException if a line is not a valid condition
+     */
+    public static List<VariantCondition> parseAll(String conditions) {
+        List<VariantCondition> parsed = new ArrayList<>();
+        if (conditions == null) {
+            return parsed;
+        }
+        for (String line : conditions.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                parsed.add(parse(trimmed));
+            }
+        }
+        return parsed;
+    }
+
+    static VariantCondition parse(String line) {
+        int operatorIndex = findOperator(line);
+        String selector = (operatorIndex < 0 ? line : line.substring(0, operatorIndex)).trim();
+        Operator operator = operatorIndex < 0
+                ? Operator.PRESENT
+                : line.charAt(operatorIndex) == '=' ? Operator.EQUALS : Operator.MATCHES;
+        String value = operatorIndex < 0 ? null : unquote(line.substring(operatorIndex + 1).trim());
+
+        if (selector.startsWith("query.") && selector.length() > "query.".length()) {
+            return new VariantCondition(Source.QUERY, selector.substring("query.".length()), null, operator, value);
+        }
+        if (selector.startsWith("header.") && selector.length() > "header.".length()) {
+            // Header names are case-insensitive; the lower-case form keys the index
+            String header = selector.substring("header.".length()).toLowerCase(Locale.ROOT);
+            return new VariantCondition(Source.HEADER, header, null, operator, value);
+        }
+        if (selector.equals("body")) {
+            return new VariantCondition(Source.BODY, "", null, operator, value);
+        }
+        if (selector.startsWith("$")) {
+            return new VariantCondition(Source.JSON, selector, compileJsonPath(selector), operator, value);
+        }
+        throw new IllegalArgumentException("Unknown variant condition (expected query., header., body or $): " + line);
+    }
+
+    Source getSource() {
+        return source;
+    }
+
+    /**
+     * Identifies what the condition reads: conditions with the same key share one lookup per request.
+     */
+    String getKey() {
+        return source.name() + ':' + name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Operator getOperator() {
+        return operator;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Value of the JSON body at this condition's path, or {@code null} if absent.
+     */
+    String readJson(JsonNode body) {
+        JsonNode node = body;
+        for (Object step : jsonPath) {
+            if (node == null) {
+                return null;
+            }
+            node = step instanceof Integer index ? node.get(index) : node.get((String) step);
+        }
+        if (node == null) {
+            return null;
+        }
+        return node.isValueNode() ? node.asString() : node.toString();
+    }
+
+    private static int findOperator(String line) {
+        int depth = 0;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '[') {
+                depth++;
+            } else if (!quoted && c == ']') {
+                depth--;
+            } else if (!quoted && depth == 0 && (c == '=' || c == '~')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object[] compileJsonPath(String path) {
+        List<Object> steps = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new IllegalArgumentException("Empty property name in JSONPath: " + path);
+                }
+                steps.add(path.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed bracket in JSONPath: " + path);
+                }
+                String inner = path.substring(i + 1, end).trim();
+                if (inner.length() >= 2 && inner.startsWith("'") && inner.endsWith("'")) {
+                    steps.add(inner.substring(1, inner.length() - 1));
+                } else {
+                    try {
+                        steps.add(Integer.parseInt(inner));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Only ['name'] and [index] are supported in JSONPath: " + path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + c + "' in JSONPath: " + path);
+            }
+        }
+        return steps.toArray();
+    }
+
+    private static Pattern compilePattern(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regular expression in variant condition: " + regex, e);
+        }
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+
+    enum Source {
+        QUERY,
+        HEADER,
+        BODY,
+        JSON
+    }
+
+    enum Operator {
+        EQUALS,
+        MATCHES,
+        PRESENT
+    }
+}
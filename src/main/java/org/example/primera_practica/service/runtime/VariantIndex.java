@@ -0,0 +1,224 @@
+package org.example.primera_practica.service.runtime;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bitmap index over a mock's response variants, built once per mock version. Variants are numbered in priority
+ * order and every condition is grouped by what it reads (a query parameter, a header, the body or a JSONPath), so
+ * a request reads each input once. Equality conditions on one input become a hash map from value to the bitset of
+ * variants that accept it, so their cost does not grow with the number of variants. Regex and presence conditions
+ * are evaluated once per distinct pattern, and only while some candidate still depends on them. The first
+ * remaining candidate is the selected variant.
+ */
+public final class VariantIndex<T> {
+
+    private final T[] responses;
+    private final long[] satisfiable;
+    private final Dimension[] dimensions;
+
+    private VariantIndex(T[] responses, long[] satisfiable, Dimension[] dimensions) {
+        this.responses = responses;
+        this.satisfiable = satisfiable;
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * @param conditions conditions of each variant, highest priority first; an empty list always matches
+     * @param responses  response of each variant, in the same order
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> VariantIndex<T> build(List<List<VariantCondition>> conditions, List<T> responses) {
+        int size = conditions.size();
+        int words = (size + 63) >>> 6;
+        long[] satisfiable = new long[words];
+        Map<String, DimensionBuilder> builders = new LinkedHashMap<>();
+        for (int variant = 0; variant < size; variant++) {
+            satisfiable[variant >>> 6] |= 1L << variant;
+            for (VariantCondition condition : conditions.get(variant)) {
+                builders.computeIfAbsent(condition.getKey(), key -> new DimensionBuilder(condition, words))
+                        .add(variant, condition);
+            }
+        }
+
+        List<Dimension> dimensions = new ArrayList<>(builders.size());
+        for (DimensionBuilder builder : builders.values()) {
+            dimensions.add(builder.build(satisfiable));
+        }
+        // Headers and query parameters are cheap; the body is read and parsed only if still needed
+        dimensions.sort(Comparator.comparing(dimension -> dimension.source.ordinal()));
+        return new VariantIndex<>((T[]) responses.toArray(), satisfiable, dimensions.toArray(new Dimension[0]));
+    }
+
+    /**
+     * Highest-priority variant whose conditions all hold, or {@code null} if none does.
+     */
+    public T select(VariantRequest request) {
+        long[] candidates = satisfiable.clone();
+        JsonNode json = null;
+        boolean jsonRead = false;
+        for (Dimension dimension : dimensions) {
+            if (!intersects(candidates, dimension.involved)) {
+                continue;
+            }
+            String value;
+            switch (dimension.source) {
+                case QUERY -> value = request.queryParameter(dimension.name);
+                case HEADER -> value = request.header(dimension.name);
+                case BODY -> value = request.bodyText();
+                default -> {
+                    if (!jsonRead) {
+                        json = request.jsonBody();
+                        jsonRead = true;
+                    }
+                    value = json != null ? dimension.condition.readJson(json) : null;
+                }
+            }
+            if (!dimension.filter(candidates, value)) {
+                return null;
+            }
+        }
+        for (int word = 0; word < candidates.length; word++) {
+            if (candidates[word] != 0) {
+                return responses[(word << 6) + Long.numberOfTrailingZeros(candidates[word])];
+            }
+        }
+        return null;
+    }
+
+    private static boolean intersects(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            if ((left[i] & right[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Dimension {
+        private final VariantCondition.Source source;
+        private final String name;
+        // Any condition of the dimension, used to read JSON paths
+        private final VariantCondition condition;
+        private final long[] involved;
+        private final long[] constrained;
+        private final Map<String, long[]> acceptedByValue;
+        private final Predicate[] predicates;
+
+        private Dimension(VariantCondition condition, long[] involved, long[] constrained,
+                          Map<String, long[]> acceptedByValue, Predicate[] predicates) {
+            this.source = condition.getSource();
+            this.name = condition.getName();
+            this.condition = condition;
+            this.involved = involved;
+            this.constrained = constrained;
+            this.acceptedByValue = acceptedByValue;
+            this.predicates = predicates;
+        }
+
+        /**
+         * Narrows {@code candidates} to the variants that accept {@code value}; false once none is left.
+         */
+        private boolean filter(long[] candidates, String value) {
+            if (constrained != null) {
+                long[] accepted = value != null ? acceptedByValue.get(value) : null;
+                for (int i = 0; i < candidates.length; i++) {
+                    candidates[i] &= ~constrained[i] | (accepted != null ? accepted[i] : 0L);
+                }
+            }
+            for (Predicate predicate : predicates) {
+                if (intersects(candidates, predicate.variants) && !predicate.test(value)) {
+                    for (int i = 0; i < candidates.length; i++) {
+                        candidates[i] &= ~predicate.variants[i];
+                    }
+                }
+            }
+            boolean any = false;
+            for (long word : candidates) {
+                any |= word != 0;
+            }
+            return any;
+        }
+    }
+
+    private static final class DimensionBuilder {
+        private final VariantCondition first;
+        private final long[] involved;
+        private final Map<Integer, String> requiredValue = new HashMap<>();
+        // Variants requiring two different values, which can never both hold
+        private final Set<Integer> contradicted = new HashSet<>();
+        private final Map<String, long[]> predicateVariants = new LinkedHashMap<>();
+        private final Map<String, Pattern> patterns = new HashMap<>();
+        private final int words;
+
+        private DimensionBuilder(VariantCondition first, int words) {
+            this.first = first;
+            this.words = words;
+            this.involved = new long[words];
+        }
+
+        private void add(int variant, VariantCondition condition) {
+            involved[variant >>> 6] |= 1L << variant;
+            switch (condition.getOperator()) {
+                case EQUALS -> {
+                    String previous = requiredValue.putIfAbsent(variant, condition.getValue());
+                    if (previous != null && !previous.equals(condition.getValue())) {
+                        contradicted.add(variant);
+                    }
+                }
+                case MATCHES -> {
+                    String key = "~" + condition.getValue();
+                    patterns.putIfAbsent(key, condition.getPattern());
+                    predicateVariants.computeIfAbsent(key, ignored -> new long[words])[variant >>> 6] |= 1L << variant;
+                }
+                case PRESENT -> predicateVariants.computeIfAbsent("?", ignored -> new long[words])[variant >>> 6] |= 1L << variant;
+            }
+        }
+
+        private Dimension build(long[] satisfiable) {
+            long[] constrained = null;
+            Map<String, long[]> acceptedByValue = new HashMap<>();
+            for (Map.Entry<Integer, String> entry : requiredValue.entrySet()) {
+                int variant = entry.getKey();
+                if (constrained == null) {
+                    constrained = new long[words];
+                }
+                constrained[variant >>> 6] |= 1L << variant;
+                if (contradicted.contains(variant)) {
+                    satisfiable[variant >>> 6] &= ~(1L << variant);
+                } else {
+                    acceptedByValue.computeIfAbsent(entry.getValue(), ignored -> new long[words])[variant >>> 6] |= 1L << variant;
+                }
+            }
+            List<Predicate> predicates = new ArrayList<>(predicateVariants.size());
+            predicateVariants.forEach((key, variants) -> predicates.add(new Predicate(patterns.get(key), variants)));
+            return new Dimension(first, involved, constrained, acceptedByValue, predicates.toArray(new Predicate[0]));
+        }
+    }
+
+    /**
+     * A regular expression that must match the whole value, or a presence check when {@code pattern} is null.
+     */
+    private static final class Predicate {
+        private final Pattern pattern;
+        private final long[] variants;
+
+        private Predicate(Pattern pattern, long[] variants) {
+            this.pattern = pattern;
+            this.variants = variants;
+        }
+
+        private boolean test(String value) {
+            return value != null && (pattern == null || pattern.matcher(value).matches());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.primera_practica.service.runtime;
+
+import tools.jackson.databind.JsonNode;
+
+/**
+ * Request data a {@link VariantIndex} matches against. Each accessor is called at most once per selection and
+ * only when some variant still depends on it, so implementations can read the body lazily.
+ */
+public interface VariantRequest {
+
+    /**
+     * First value of the parameter in the query string.
+     */
+    String queryParameter(String name);
+
+    String header(String name);
+
+    /**
+     * Body as text, or {@code null} when the request has none.
+     */
+    String bodyText();
+
+    /**
+     * Body parsed as JSON, or {@code null} when it is missing or not valid JSON.
+     */
+    JsonNode jsonBody();
+}
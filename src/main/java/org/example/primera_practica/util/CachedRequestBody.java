@@ -0,0 +1,44 @@
+package org.example.primera_practica.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Lets several consumers of a mock request (request capture, variant matching) read its body although the
+ * servlet stream can only be read once. The bytes read so far are kept in a request attribute, and a later call
+ * asking for more continues from the stream.
+ */
+public final class CachedRequestBody {
+
+    private static final String ATTRIBUTE = CachedRequestBody.class.getName();
+
+    private CachedRequestBody() {
+    }
+
+    /**
+     * Returns the first {@code limit} bytes of the body, or all of it if shorter.
+     */
+    public static byte[] read(HttpServletRequest request, int limit) throws IOException {
+        Buffer buffer = (Buffer) request.getAttribute(ATTRIBUTE);
+        if (buffer == null) {
+            buffer = new Buffer();
+            request.setAttribute(ATTRIBUTE, buffer);
+        }
+        if (buffer.bytes.length < limit && !buffer.complete) {
+            int missing = limit - buffer.bytes.length;
+            byte[] more = request.getInputStream().readNBytes(missing);
+            buffer.complete = more.length < missing;
+            int previousLength = buffer.bytes.length;
+            buffer.bytes = Arrays.copyOf(buffer.bytes, previousLength + more.length);
+            System.arraycopy(more, 0, buffer.bytes, previousLength, more.length);
+        }
+        return buffer.bytes.length <= limit ? buffer.bytes.clone() : Arrays.copyOf(buffer.bytes, limit);
+    }
+
+    private static final class Buffer {
+        private byte[] bytes = new byte[0];
+        private boolean complete;
+    }
+}
@@ -10,6 +10,7 @@ import org.example.primera_practica.repository.MockEndpointRepository;
 import org.example.primera_practica.repository.ProjectRepository;
 import org.example.primera_practica.repository.RoleRepository;
 import org.example.primera_practica.repository.UserRepository;
+import org.example.primera_practica.service.runtime.MockRouteTable;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -27,17 +28,20 @@ public class DataInitializer implements ApplicationRunner {
     private final MockEndpointRepository mockEndpointRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MockRouteTable mockRouteTable;
 
     public DataInitializer(RoleRepository roleRepository,
                            ProjectRepository projectRepository,
                            MockEndpointRepository mockEndpointRepository,
                            UserRepository userRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           MockRouteTable mockRouteTable) {
         this.roleRepository = roleRepository;
         this.projectRepository = projectRepository;
         this.mockEndpointRepository = mockEndpointRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.mockRouteTable = mockRouteTable;
     }
     
     @Override
@@ -105,5 +109,8 @@ public class DataInitializer implements ApplicationRunner {
             mockEndpoint.setProject(usuariosProject);
             return mockEndpointRepository.save(mockEndpoint);
         });
+
+        // Seed data is written straight through the repositories, so drop anything served meanwhile.
+        mockRouteTable.invalidateProject(usuariosProject.getName());
     }
 }
@@ -153,6 +153,58 @@ function removeHeader(id) {
     }
 }
 
+// === RESPONSE VARIANT MANAGEMENT (for mock endpoint forms) ===
+let variantCount = 0;
+
+function addVariant(priority = 0, conditions = '', httpStatusCode = 200, responseBody = '') {
+    const container = document.getElementById('variants-container');
+    const variantRow = document.createElement('div');
+    variantRow.className = 'variant-row border rounded p-2 mb-2';
+    variantRow.id = `variant-${variantCount}`;
+
+    variantRow.innerHTML = `
+        <div class="row mb-2">
+            <div class="col-md-2">
+                <input type="number" class="form-control form-control-clean"
+                       name="variants[${variantCount}].priority" placeholder="Priority">
+            </div>
+            <div class="col-md-2">
+                <input type="number" class="form-control form-control-clean" min="100" max="599"
+                       name="variants[${variantCount}].httpStatusCode" placeholder="Status" required>
+            </div>
+            <div class="col-md-7">
+                <textarea class="form-control form-control-clean font-monospace" rows="2"
+                          name="variants[${variantCount}].conditions"
+                          placeholder="query.status = active&#10;$.user.type = admin" required></textarea>
+            </div>
+            <div class="col-md-1">
+                <button type="button" class="btn btn-danger btn-sm w-100"
+                        onclick="removeVariant(${variantCount})">
+                    <i class="bi bi-trash"></i>
+                </button>
+            </div>
+        </div>
+        <textarea class="form-control form-control-clean font-monospace" rows="3"
+                  name="variants[${variantCount}].responseBody" placeholder="Response body"></textarea>
+    `;
+
+    // Assigned as properties so quotes and markup in bodies are kept verbatim
+    variantRow.querySelector(`[name="variants[${variantCount}].priority"]`).value = priority;
+    variantRow.querySelector(`[name="variants[${variantCount}].httpStatusCode"]`).value = httpStatusCode;
+    variantRow.querySelector(`[name="variants[${variantCount}].conditions"]`).value = conditions;
+    variantRow.querySelector(`[name="variants[${variantCount}].responseBody"]`).value = responseBody || '';
+
+    container.appendChild(variantRow);
+    variantCount++;
+}
+
+function removeVariant(id) {
+    const variantRow = document.getElementById(`variant-${id}`);
+    if (variantRow) {
+        variantRow.remove();
+    }
+}
+
 // === AUTO-DISMISS ALERTS ===
 document.addEventListener('DOMContentLoaded', function() {
     const alerts = document.querySelectorAll('.alert-clean:not(.alert-info)');
@@ -0,0 +1,176 @@
+package org.example.primera_practica.controller.api;
+
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockHeaderDTO;
+import org.example.primera_practica.dto.ProjectDTO;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Serves real mocks through the route table to check the conditional and content-coding headers. The
+ * body is over mock.compression.min-size, so the mock has gzip and deflate variants.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional",
+        "app.open-browser-on-start=false"
+})
+@AutoConfigureMockMvc
+class MockApiControllerConditionalTest {
+
+    private static final String BODY = "{\"items\":\"" + "x".repeat(2048) + "\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MockEndpointService mockEndpointService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    private String url;
+    private MockEndpointDTO mock;
+
+    @BeforeEach
+    void setUp() {
+        ProjectDTO project = new ProjectDTO();
+        project.setName("conditional-" + UUID.randomUUID());
+        Long projectId = projectService.createProject(project, "admin").getId();
+        url = "/api/mock/" + project.getName() + "/orders";
+
+        MockEndpointDTO definition = new MockEndpointDTO();
+        definition.setProjectId(projectId);
+        definition.setName("Orders");
+        definition.setPath("/orders");
+        definition.setMethod(HttpMethod.GET);
+        definition.setHttpStatusCode(200);
+        definition.setContentType("application/json");
+        definition.setResponseBody(BODY);
+        definition.setHeaders(List.of(header("X-Region", "eu")));
+        mock = mockEndpointService.createMockEndpoint(definition, "admin");
+    }
+
+    @Test
+    void identityResponseCarriesValidatorsAndVary() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(url)).andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"").endsWith("\"");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void negotiatesTheCodingAndTagsEachRepresentation() throws Exception {
+        MockHttpServletResponse identity = mockMvc.perform(get(url)).andReturn().getResponse();
+        MockHttpServletResponse gzip = mockMvc.perform(get(url)
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate;q=0.5, gzip")).andReturn().getResponse();
+        MockHttpServletResponse deflate = mockMvc.perform(get(url)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.2, deflate")).andReturn().getResponse();
+        MockHttpServletResponse refused = mockMvc.perform(get(url)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate;q=0")).andReturn().getResponse();
+
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(BODY);
+        assertThat(deflate.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("deflate");
+        assertThat(refused.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(refused.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+
+        assertThat(List.of(identity.getHeader(HttpHeaders.ETAG), gzip.getHeader(HttpHeaders.ETAG),
+                deflate.getHeader(HttpHeaders.ETAG))).doesNotHaveDuplicates();
+        assertThat(refused.getHeader(HttpHeaders.ETAG)).isEqualTo(identity.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void ifNoneMatchReturnsNotModifiedForTheSameRepresentationOnly() throws Exception {
+        String etag = mockMvc.perform(get(url)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse listed = mockMvc.perform(get(url)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag)).andReturn().getResponse();
+        MockHttpServletResponse wildcard = mockMvc.perform(get(url)
+                .header(HttpHeaders.IF_NONE_MATCH, "*")).andReturn().getResponse();
+        MockHttpServletResponse otherCoding = mockMvc.perform(get(url)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse();
+
+        assertThat(listed.getStatus()).isEqualTo(304);
+        assertThat(listed.getContentAsByteArray()).isEmpty();
+        assertThat(listed.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(listed.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(wildcard.getStatus()).isEqualTo(304);
+        assertThat(otherCoding.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void ifModifiedSinceIsIgnoredWhenIfNoneMatchIsPresent() throws Exception {
+        String lastModified = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        MockHttpServletResponse unmodified = mockMvc.perform(get(url)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)).andReturn().getResponse();
+        MockHttpServletResponse etagMismatch = mockMvc.perform(get(url)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")).andReturn().getResponse();
+        MockHttpServletResponse unparseable = mockMvc.perform(get(url)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "yesterday")).andReturn().getResponse();
+
+        assertThat(unmodified.getStatus()).isEqualTo(304);
+        assertThat(etagMismatch.getStatus()).isEqualTo(200);
+        assertThat(unparseable.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void headerOnlyEditMovesLastModified() throws Exception {
+        MockHttpServletResponse before = mockMvc.perform(get(url)).andReturn().getResponse();
+        // Last-Modified has one-second resolution
+        Thread.sleep(1_100);
+
+        MockEndpointDTO update = new MockEndpointDTO();
+        update.setHeaders(List.of(header("X-Region", "us")));
+        MockEndpointDTO updated = mockEndpointService.updateMockEndpointForUser(mock.getId(), update, "admin");
+
+        MockHttpServletResponse after = mockMvc.perform(get(url)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, before.getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andReturn().getResponse();
+
+        assertThat(updated.getUpdatedAt()).isAfter(mock.getUpdatedAt());
+        assertThat(after.getStatus()).isEqualTo(200);
+        assertThat(after.getHeader("X-Region")).isEqualTo("us");
+        assertThat(after.getHeader(HttpHeaders.LAST_MODIFIED)).isNotEqualTo(before.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertThat(after.getHeader(HttpHeaders.ETAG)).isNotEqualTo(before.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static MockHeaderDTO header(String key, String value) {
+        MockHeaderDTO header = new MockHeaderDTO();
+        header.setHeaderKey(key);
+        header.setHeaderValue(value);
+        return header;
+    }
+
+    private static String gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.primera_practica.controller.api;
+
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.ProjectDTO;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports in chunks of two, so the rejected entries fall in different chunks than the ones they collide with.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mockimport",
+        "mock.import.chunk-size=2",
+        "app.open-browser-on-start=false"
+})
+@AutoConfigureMockMvc
+class MockImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MockEndpointService mockEndpointService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        ProjectDTO project = new ProjectDTO();
+        project.setName("import-" + UUID.randomUUID());
+        projectId = projectService.createProject(project, "admin").getId();
+
+        MockEndpointDTO existing = new MockEndpointDTO();
+        existing.setProjectId(projectId);
+        existing.setName("Existing");
+        existing.setPath("/users/{id}");
+        existing.setMethod(HttpMethod.GET);
+        existing.setHttpStatusCode(200);
+        existing.setContentType("application/json");
+        existing.setResponseBody("{}");
+        mockEndpointService.createMockEndpoint(existing, "admin");
+    }
+
+    @Test
+    @WithMockUser(username = "admin")
+    void skipsEntriesThatFailAfterBeanValidationAndKeepsImporting() throws Exception {
+        String definitions = String.join("\n",
+                definition("Orders", "/orders", null),
+                definition("Order", "/orders/{id}", null),
+                definition("Orders again", "/orders", null),
+                definition("Slow", "/slow", "uniform:150,50"),
+                definition("User", "/users/:userId", null),
+                definition("", "/unnamed", null));
+
+        mockMvc.perform(post("/api/projects/" + projectId + "/mocks/import")
+                        .contentType("application/x-ndjson")
+                        .content(definitions))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.errors[*].index").value(contains(2, 3, 4, 5)))
+                .andExpect(jsonPath("$.errors[0].errors[0]").value(containsString("'Orders'")))
+                .andExpect(jsonPath("$.errors[1].errors[0]").value(containsString("uniform")))
+                .andExpect(jsonPath("$.errors[2].errors[0]").value(containsString("'Existing'")))
+                .andExpect(jsonPath("$.errors[3].errors[0]").value(containsString("name")));
+
+        assertThat(mockEndpointService.getAllMockEndpointsByProjectForUser(projectId, "admin"))
+                .extracting(MockEndpointDTO::getPath)
+                .containsExactlyInAnyOrder("/users/{id}", "/orders", "/orders/{id}");
+    }
+
+    @Test
+    @WithMockUser(username = "admin")
+    void rejectsEveryEntryOfAChunkWithoutFailingTheImport() throws Exception {
+        String definitions = "[" + definition("Slow", "/slow", "uniform:150,50") + ","
+                + definition("User", "/users/*", null) + "]";
+
+        mockMvc.perform(post("/api/projects/" + projectId + "/mocks/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(definitions))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.rejected").value(2));
+    }
+
+    private static String definition(String name, String path, String latencyProfile) {
+        return "{\"name\":\"" + name + "\",\"path\":\"" + path + "\",\"method\":\"GET\",\"httpStatusCode\":200,"
+                + "\"contentType\":\"application/json\",\"responseBody\":\"{}\""
+                + (latencyProfile != null ? ",\"latencyProfile\":\"" + latencyProfile + "\"" : "")
+                + "}";
+    }
+}
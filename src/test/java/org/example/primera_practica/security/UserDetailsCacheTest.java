@@ -0,0 +1,84 @@
+package org.example.primera_practica.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache cache = new UserDetailsCache(10);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void put_cachesThePrincipalWithoutItsPassword() {
+        cache.put(user("alice"), cache.generation());
+
+        UserDetails cached = cache.get("alice");
+        assertThat(cached.getPassword()).isEmpty();
+        assertThat(cached.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void put_dropsALoadThatRacedWithAnEviction() {
+        long generation = cache.generation();
+        // The user changes and is evicted while the old row is being loaded
+        cache.evict("alice");
+
+        cache.put(user("alice"), generation);
+
+        assertThat(cache.get("alice")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictAfterCommit_keepsTheEntryUntilTheTransactionCommits() {
+        cache.put(user("alice"), cache.generation());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit("alice");
+        assertThat(cache.get("alice")).isNotNull();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("alice")).isNull();
+    }
+
+    @Test
+    void evictAfterCommit_outsideATransactionEvictsRightAway() {
+        cache.put(user("alice"), cache.generation());
+
+        cache.evictAfterCommit("alice");
+
+        assertThat(cache.get("alice")).isNull();
+    }
+
+    @Test
+    void put_skipsCachingWhenFull() {
+        UserDetailsCache small = new UserDetailsCache(1);
+        small.put(user("alice"), small.generation());
+
+        small.put(user("bob"), small.generation());
+
+        assertThat(small.get("alice")).isNotNull();
+        assertThat(small.get("bob")).isNull();
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("{bcrypt}hash").roles("USER").build();
+    }
+}
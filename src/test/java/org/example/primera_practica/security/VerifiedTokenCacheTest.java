@@ -0,0 +1,82 @@
+package org.example.primera_practica.security;
+
+import org.example.primera_practica.security.VerifiedTokenCache.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void get_returnsTheVerifiedTokenUntilItExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", new VerifiedToken("alice", NOW + 1000), NOW);
+
+        assertThat(cache.get("token", NOW + 999).getSubject()).isEqualTo("alice");
+        assertThat(cache.get("token", NOW + 1000)).isNull();
+        // Expired entries are dropped on lookup
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_onlyMatchesTheExactToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("header.payload.signature", new VerifiedToken("alice", NOW + 1000), NOW);
+
+        assertThat(cache.get("header.payload.signaturf", NOW)).isNull();
+        assertThat(cache.get("header.payload.", NOW)).isNull();
+    }
+
+    @Test
+    void put_sweepsExpiredEntriesWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("old", new VerifiedToken("alice", NOW + 10), NOW);
+        cache.put("live", new VerifiedToken("bob", NOW + 1000), NOW);
+
+        cache.put("new", new VerifiedToken("carol", NOW + 1000), NOW + 10);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("old", NOW)).isNull();
+        assertThat(cache.get("new", NOW + 10).getSubject()).isEqualTo("carol");
+    }
+
+    @Test
+    void put_skipsCachingWhenFullOfLiveTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("first", new VerifiedToken("alice", NOW + 1000), NOW);
+        cache.put("second", new VerifiedToken("bob", NOW + 1000), NOW);
+
+        cache.put("third", new VerifiedToken("carol", NOW + 1000), NOW);
+
+        assertThat(cache.get("third", NOW)).isNull();
+        assertThat(cache.get("first", NOW).getSubject()).isEqualTo("alice");
+        assertThat(cache.get("second", NOW).getSubject()).isEqualTo("bob");
+    }
+
+    @Test
+    void put_doesNotSweepAgainUntilTheEarliestEntryExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("first", new VerifiedToken("alice", NOW + 1000), NOW);
+        cache.put("second", new VerifiedToken("bob", NOW + 2000), NOW);
+        // Full and nothing due yet: not cached, and no sweep runs
+        cache.put("third", new VerifiedToken("carol", NOW + 1000), NOW + 500);
+        assertThat(cache.get("third", NOW + 500)).isNull();
+
+        cache.put("fourth", new VerifiedToken("dave", NOW + 3000), NOW + 1000);
+
+        assertThat(cache.get("first", NOW + 1000)).isNull();
+        assertThat(cache.get("fourth", NOW + 1000).getSubject()).isEqualTo("dave");
+        assertThat(cache.get("second", NOW + 1000).getSubject()).isEqualTo("bob");
+    }
+
+    @Test
+    void zeroMaxEntries_disablesTheCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+        cache.put("token", new VerifiedToken("alice", NOW + 1000), NOW);
+
+        assertThat(cache.get("token", NOW)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.primera_practica.service.capture;
+
+import org.example.primera_practica.dto.CapturedRequestDTO;
+import org.example.primera_practica.dto.CapturedRequestPageDTO;
+import org.example.primera_practica.dto.MockHeaderDTO;
+import org.example.primera_practica.service.runtime.MocksDeletedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RequestJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void page_returnsNewestFirstWithACursorForOlderRequests() {
+        RequestJournal journal = journal(1024 * 1024, 1024);
+        for (int i = 0; i < 5; i++) {
+            journal.capture(1L, request("/api/mock/ci/orders/" + i, "{}"));
+        }
+        journal.capture(2L, request("/api/mock/ci/other", "{}"));
+
+        CapturedRequestPageDTO first = journal.page(1L, null, 2);
+        assertThat(first.getItems()).extracting(CapturedRequestDTO::getPath)
+                .containsExactly("/api/mock/ci/orders/4", "/api/mock/ci/orders/3");
+        assertThat(first.getNextBefore()).isNotNull();
+
+        CapturedRequestPageDTO last = journal.page(1L, journal.page(1L, first.getNextBefore(), 2).getNextBefore(), 2);
+        assertThat(last.getItems()).extracting(CapturedRequestDTO::getPath).containsExactly("/api/mock/ci/orders/0");
+        assertThat(last.getNextBefore()).isNull();
+        assertThat(journal.page(3L, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void capture_redactsCredentialsAndTruncatesLargeBodies() {
+        RequestJournal journal = journal(1024 * 1024, 8);
+        MockHttpServletRequest request = request("/api/mock/ci/orders", "{\"items\":[1,2,3]}");
+        request.setQueryString("page=2");
+        request.addHeader("Authorization", "Bearer abc.def.ghi");
+        request.addHeader("Cookie", "JSESSIONID=123");
+        request.addHeader("X-Trace", "t-1");
+
+        journal.capture(1L, request);
+
+        CapturedRequestDTO captured = journal.page(1L, null, 1).getItems().get(0);
+        assertThat(captured.getMethod()).isEqualTo("POST");
+        assertThat(captured.getQuery()).isEqualTo("page=2");
+        assertThat(captured.getHeaders()).extracting(MockHeaderDTO::getHeaderKey, MockHeaderDTO::getHeaderValue)
+                .contains(
+                        tuple("Authorization", "Bearer (redacted)"),
+                        tuple("Cookie", "(redacted)"),
+                        tuple("X-Trace", "t-1"));
+        assertThat(captured.getBody()).isEqualTo("{\"items\"");
+        assertThat(captured.isBodyTruncated()).isTrue();
+        assertThat(captured.getBodySize()).isEqualTo(17);
+    }
+
+    @Test
+    void retention_deletesTheOldestSegmentsAndTheirEntries() throws Exception {
+        RequestJournal journal = journal(2 * SEGMENT_SIZE, 4096);
+        String body = "x".repeat(4000);
+        for (int i = 0; i < 100; i++) {
+            journal.capture(1L, request("/api/mock/ci/orders/" + i, body));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(2);
+        }
+        CapturedRequestPageDTO page = journal.page(1L, null, 100);
+        assertThat(page.getItems()).isNotEmpty().hasSizeLessThan(100);
+        assertThat(page.getItems().get(0).getPath()).isEqualTo("/api/mock/ci/orders/99");
+        assertThat(page.getNextBefore()).isNull();
+    }
+
+    @Test
+    void reopening_deletesTheSegmentsOfThePreviousRun() throws Exception {
+        RequestJournal journal = journal(1024 * 1024, 1024);
+        journal.capture(1L, request("/api/mock/ci/orders/1", "{}"));
+
+        // Mock ids start over with the in-memory database, so old records must not resurface
+        RequestJournal reopened = journal(1024 * 1024, 1024);
+        reopened.capture(1L, request("/api/mock/ci/orders/2", "{}"));
+
+        assertThat(reopened.page(1L, null, 10).getItems()).extracting(CapturedRequestDTO::getPath)
+                .containsExactly("/api/mock/ci/orders/2");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void onMocksDeleted_forgetsTheRequestsOfDeletedMocks() {
+        RequestJournal journal = journal(1024 * 1024, 1024);
+        journal.capture(1L, request("/api/mock/ci/orders", "{}"));
+        journal.capture(2L, request("/api/mock/ci/other", "{}"));
+
+        journal.onMocksDeleted(new MocksDeletedEvent(List.of(1L)));
+
+        assertThat(journal.page(1L, null, 10).getItems()).isEmpty();
+        assertThat(journal.page(2L, null, 10).getItems()).hasSize(1);
+    }
+
+    @Test
+    void concurrentCaptures_areAllIndexedInOrder() throws Exception {
+        RequestJournal journal = journal(64L * SEGMENT_SIZE, 1024);
+        int threads = 8;
+        int perThread = 200;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            writers[t] = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    journal.capture(1L, request("/api/mock/ci/orders", "{}"));
+                }
+            });
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Long before = null;
+        do {
+            CapturedRequestPageDTO page = journal.page(1L, before, 100);
+            page.getItems().forEach(item -> ids.add(item.getId()));
+            before = page.getNextBefore();
+        } while (before != null);
+
+        assertThat(ids).hasSize(threads * perThread).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    private RequestJournal journal(long retentionSize, int maxBodyBytes) {
+        return new RequestJournal(directory.toString(), SEGMENT_SIZE, retentionSize, maxBodyBytes);
+    }
+
+    private static MockHttpServletRequest request(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/json");
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.primera_practica.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceImplTest {
+
+    private static final String SECRET = "test_secret_key_that_is_long_enough_for_hmac_sha_256";
+    private static final String OTHER_SECRET = "another_secret_key_that_is_long_enough_for_hmac_256";
+
+    private final JwtServiceImpl jwtService = service(SECRET);
+
+    @Test
+    void validToken_isVerifiedOnceAndThenServedFromTheCache() {
+        String token = jwtService.generateToken("alice", LocalDateTime.now().plusHours(1));
+
+        assertThat(jwtService.extractValidUsername(token)).isEqualTo("alice");
+        assertThat(jwtService.extractValidUsername(token)).isEqualTo("alice");
+        assertThat(jwtService.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void tamperedToken_isRejectedEvenWhenTheOriginalIsCached() {
+        String token = jwtService.generateToken("alice", LocalDateTime.now().plusHours(1));
+        assertThat(jwtService.validateToken(token)).isTrue();
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = jwtService.generateToken("admin", LocalDateTime.now().plusHours(1)).split("\\.")[1];
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+        // The last character of a signature carries padding bits, so flip the first one
+        char first = parts[2].charAt(0);
+        String badSignature = parts[0] + "." + parts[1] + "." + (first == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+        assertThat(jwtService.validateToken(forged)).isFalse();
+        assertThat(jwtService.extractValidUsername(forged)).isNull();
+        assertThat(jwtService.validateToken(badSignature)).isFalse();
+        assertThat(jwtService.extractValidUsername(badSignature)).isNull();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKey_isRejected() {
+        String foreign = service(OTHER_SECRET).generateToken("alice", LocalDateTime.now().plusHours(1));
+        // Cache the same subject under this key first
+        jwtService.validateToken(jwtService.generateToken("alice", LocalDateTime.now().plusHours(1)));
+
+        assertThat(jwtService.validateToken(foreign)).isFalse();
+        assertThat(jwtService.extractValidUsername(foreign)).isNull();
+    }
+
+    @Test
+    void expiredToken_isRejected() {
+        String token = jwtService.generateToken("alice", LocalDateTime.now().minusMinutes(1));
+
+        assertThat(jwtService.validateToken(token)).isFalse();
+        assertThat(jwtService.extractValidUsername(token)).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JwtServiceImpl service(String secret) {
+        return new JwtServiceImpl(mock(ObjectProvider.class), secret, 100);
+    }
+}
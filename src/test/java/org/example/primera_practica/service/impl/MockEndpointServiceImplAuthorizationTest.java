@@ -1,17 +1,28 @@
 package org.example.primera_practica.service.impl;
 
 import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockEndpointSummaryDTO;
+import org.example.primera_practica.dto.MockEndpointSummaryPageDTO;
+import org.example.primera_practica.dto.MockImportResultDTO;
+import org.example.primera_practica.dto.MockSummarySort;
+import org.example.primera_practica.exception.DuplicateResourceException;
 import org.example.primera_practica.model.*;
 import org.example.primera_practica.repository.MockEndpointRepository;
+import org.example.primera_practica.repository.MockHeaderRepository;
+import org.example.primera_practica.repository.MockVariantRepository;
 import org.example.primera_practica.repository.ProjectRepository;
 import org.example.primera_practica.repository.UserRepository;
 import org.example.primera_practica.service.JwtService;
+import org.example.primera_practica.service.runtime.MockBodyStore;
+import org.example.primera_practica.service.runtime.MockRouteTable;
+import org.example.primera_practica.service.runtime.MocksDeletedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
@@ -22,6 +33,8 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +43,12 @@ class MockEndpointServiceImplAuthorizationTest {
     @Mock
     private MockEndpointRepository mockEndpointRepository;
 
+    @Mock
+    private MockHeaderRepository mockHeaderRepository;
+
+    @Mock
+    private MockVariantRepository mockVariantRepository;
+
     @Mock
     private ProjectRepository projectRepository;
 
@@ -39,6 +58,15 @@ class MockEndpointServiceImplAuthorizationTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private MockRouteTable mockRouteTable;
+
+    @Mock
+    private MockBodyStore mockBodyStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MockEndpointServiceImpl mockEndpointService;
 
@@ -77,7 +105,7 @@ class MockEndpointServiceImplAuthorizationTest {
 
     @Test
     void getMockEndpointByIdForUser_deniesDifferentUserAndAllowsAdmin() {
-        when(mockEndpointRepository.findById(300L)).thenReturn(Optional.of(mockEndpoint));
+        when(mockEndpointRepository.findDetailedById(300L)).thenReturn(Optional.of(mockEndpoint));
         when(userRepository.findByUsername("other")).thenReturn(Optional.of(otherUser));
 
         assertThatThrownBy(() -> mockEndpointService.getMockEndpointByIdForUser(300L, "other"))
@@ -90,7 +118,7 @@ class MockEndpointServiceImplAuthorizationTest {
 
     @Test
     void updateAndDeleteMockForUser_deniesDifferentUserAndAllowsAdmin() {
-        when(mockEndpointRepository.findById(300L)).thenReturn(Optional.of(mockEndpoint));
+        when(mockEndpointRepository.findDetailedById(300L)).thenReturn(Optional.of(mockEndpoint));
         when(userRepository.findByUsername("other")).thenReturn(Optional.of(otherUser));
 
         MockEndpointDTO update = new MockEndpointDTO();
@@ -109,6 +137,8 @@ class MockEndpointServiceImplAuthorizationTest {
 
         mockEndpointService.deleteMockEndpointForUser(300L, "admin");
         verify(mockEndpointRepository).delete(mockEndpoint);
+        verify(mockRouteTable, atLeastOnce()).invalidateProjectAfterCommit("Owner project");
+        verify(eventPublisher).publishEvent(new MocksDeletedEvent(List.of(300L)));
     }
 
     @Test
@@ -127,6 +157,143 @@ class MockEndpointServiceImplAuthorizationTest {
         assertThat(result.get(0).getId()).isEqualTo(300L);
     }
 
+    @Test
+    void importMockEndpointsForUser_deniesDifferentUserAndSharesTokensPerExpiration() {
+        when(projectRepository.findById(200L)).thenReturn(Optional.of(project));
+        when(userRepository.findByUsername("other")).thenReturn(Optional.of(otherUser));
+
+        List<MockEndpointDTO> definitions = List.of(
+                definition("/a", "ONE_HOUR", true),
+                definition("/b", "ONE_HOUR", true),
+                definition("/c", "ONE_DAY", true),
+                definition("/d", "ONE_DAY", false));
+
+        assertThatThrownBy(() -> mockEndpointService.importMockEndpointsForUser(200L, definitions, "other"))
+                .isInstanceOf(AccessDeniedException.class);
+        verify(mockEndpointRepository, never()).saveAll(any());
+
+        when(userRepository.findByUsername("owner")).thenReturn(Optional.of(owner));
+        when(jwtService.generateToken(eq("owner"), any(LocalDateTime.class))).thenReturn("token");
+
+        MockImportResultDTO result = mockEndpointService.importMockEndpointsForUser(200L, definitions, "owner");
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getRejected()).isEmpty();
+        verify(jwtService, times(2)).generateToken(eq("owner"), any(LocalDateTime.class));
+        verify(mockEndpointRepository).saveAll(anyList());
+        verify(mockRouteTable).invalidateProjectAfterCommit("Owner project");
+    }
+
+    @Test
+    void getMockEndpointSummariesForUser_deniesDifferentUserAndReturnsKeysetCursor() {
+        when(projectRepository.findById(200L)).thenReturn(Optional.of(project));
+        when(userRepository.findByUsername("other")).thenReturn(Optional.of(otherUser));
+
+        assertThatThrownBy(() -> mockEndpointService.getMockEndpointSummariesForUser(
+                200L, MockSummarySort.PATH, null, 2, "other"))
+                .isInstanceOf(AccessDeniedException.class);
+
+        MockEndpointSummaryDTO cursor = summary(301L, "/b");
+        when(mockEndpointRepository.findSummary(200L, 301L)).thenReturn(Optional.of(cursor));
+        when(mockEndpointRepository.findSummariesByPath(eq(200L), eq("/b"), eq(301L), any()))
+                .thenReturn(List.of(summary(302L, "/c"), summary(303L, "/d"), summary(304L, "/e")));
+
+        MockEndpointSummaryPageDTO page = mockEndpointService.getMockEndpointSummariesForUser(
+                200L, MockSummarySort.PATH, 301L, 2, "owner");
+
+        assertThat(page.getItems()).extracting(MockEndpointSummaryDTO::getId).containsExactly(302L, 303L);
+        assertThat(page.getNextAfterId()).isEqualTo(303L);
+        assertThat(page.getProjectName()).isEqualTo("Owner project");
+    }
+
+    @Test
+    void createAndUpdate_rejectTemplatesEquivalentToALiveRoute() {
+        when(userRepository.findByUsername("owner")).thenReturn(Optional.of(owner));
+        when(projectRepository.findById(200L)).thenReturn(Optional.of(project));
+        when(mockEndpointRepository.findLiveRoutesByProjectId(eq(200L), any(LocalDateTime.class)))
+                .thenReturn(List.of(liveRoute(301L, "/users/{id}"), liveRoute(300L, "/api/test")));
+
+        assertThatThrownBy(() -> mockEndpointService.createMockEndpoint(
+                definition("/users/{other}", "ONE_DAY", false), "owner"))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Mock /users/{id}");
+
+        when(mockEndpointRepository.findDetailedById(300L)).thenReturn(Optional.of(mockEndpoint));
+        MockEndpointDTO update = new MockEndpointDTO();
+        update.setPath("/users/:userId");
+        assertThatThrownBy(() -> mockEndpointService.updateMockEndpointForUser(300L, update, "owner"))
+                .isInstanceOf(DuplicateResourceException.class);
+        verify(mockEndpointRepository, never()).save(any(MockEndpoint.class));
+    }
+
+    @Test
+    void importMockEndpointsForUser_skipsConflictingAndMalformedDefinitions() {
+        when(projectRepository.findById(200L)).thenReturn(Optional.of(project));
+        when(userRepository.findByUsername("owner")).thenReturn(Optional.of(owner));
+        when(mockEndpointRepository.findLiveRoutesByProjectId(eq(200L), any(LocalDateTime.class)))
+                .thenReturn(List.of(liveRoute(301L, "/users/{id}")));
+
+        MockEndpointDTO invertedProfile = definition("/slow", "ONE_DAY", false);
+        invertedProfile.setLatencyProfile("uniform:150,50");
+        List<MockEndpointDTO> definitions = List.of(
+                definition("/orders/{id}", "ONE_DAY", false),
+                definition("/orders/*", "ONE_DAY", false),
+                definition("/users/:userId", "ONE_DAY", false),
+                invertedProfile,
+                definition("/items", "ONE_DAY", false));
+
+        MockImportResultDTO result = mockEndpointService.importMockEndpointsForUser(200L, definitions, "owner");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).containsOnlyKeys(1, 2, 3);
+        assertThat(result.getRejected().get(1)).contains("Mock /orders/{id}");
+        assertThat(result.getRejected().get(2)).contains("Mock /users/{id}");
+        verify(mockEndpointRepository).saveAll(argThat((List<MockEndpoint> mocks) -> mocks.size() == 2));
+    }
+
+    private MockEndpointSummaryDTO summary(Long id, String path) {
+        return new MockEndpointSummaryDTO(id, "Mock " + path, HttpMethod.GET, path, 200,
+                LocalDateTime.now().plusDays(1), false, 0);
+    }
+
+    private MockEndpointRepository.LiveRoute liveRoute(Long id, String path) {
+        return new MockEndpointRepository.LiveRoute() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Mock " + path;
+            }
+
+            @Override
+            public HttpMethod getMethod() {
+                return HttpMethod.GET;
+            }
+
+            @Override
+            public String getPath() {
+                return path;
+            }
+        };
+    }
+
+    private MockEndpointDTO definition(String path, String expirationOption, boolean requiresJwt) {
+        MockEndpointDTO dto = new MockEndpointDTO();
+        dto.setName("Mock " + path);
+        dto.setPath(path);
+        dto.setMethod(HttpMethod.GET);
+        dto.setHttpStatusCode(200);
+        dto.setContentType("application/json");
+        dto.setResponseBody("{}");
+        dto.setExpirationOption(expirationOption);
+        dto.setRequiresJwt(requiresJwt);
+        dto.setProjectId(200L);
+        return dto;
+    }
+
     private User buildUser(String username, RoleType roleType) {
         User user = new User();
         user.setUsername(username);
@@ -0,0 +1,134 @@
+package org.example.primera_practica.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.primera_practica.dto.MockEndpointDTO;
+import org.example.primera_practica.dto.MockHeaderDTO;
+import org.example.primera_practica.dto.ProjectDTO;
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.service.MockEndpointService;
+import org.example.primera_practica.service.ProjectService;
+import org.example.primera_practica.service.runtime.MockRouteTable;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements behind the single-mock view, edit and serve paths. Each service call runs
+ * in its own transaction, so nothing is served from a persistence context left over by the setup. The
+ * variants are a second bag and cannot be join fetched along with the headers, so each path reads them
+ * with exactly one more select.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "app.open-browser-on-start=false"
+})
+class MockEndpointServiceImplQueryCountTest {
+
+    @Autowired
+    private MockEndpointService mockEndpointService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MockRouteTable mockRouteTable;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String projectName;
+    private MockEndpointDTO mock;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ProjectDTO project = new ProjectDTO();
+        project.setName("Query count " + UUID.randomUUID());
+        Long projectId = projectService.createProject(project, "admin").getId();
+        projectName = project.getName();
+
+        MockEndpointDTO definition = new MockEndpointDTO();
+        definition.setProjectId(projectId);
+        definition.setName("Orders");
+        definition.setPath("/orders");
+        definition.setMethod(HttpMethod.GET);
+        definition.setHttpStatusCode(200);
+        definition.setContentType("application/json");
+        definition.setResponseBody("[]");
+        definition.setHeaders(List.of(header("X-Trace", "1"), header("X-Region", "eu")));
+        mock = mockEndpointService.createMockEndpoint(definition, "admin");
+
+        statistics.clear();
+    }
+
+    @Test
+    void viewLoadsMockHeadersCreatorAndProjectInOneQueryPlusVariants() {
+        MockEndpointDTO loaded = mockEndpointService.getMockEndpointByIdForUser(mock.getId(), "admin");
+
+        assertThat(loaded.getHeaders()).hasSize(2);
+        assertThat(loaded.getCreatedBy()).isEqualTo("admin");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void editLoadsOnceWithoutLazyFetches() {
+        MockEndpointDTO update = new MockEndpointDTO();
+        update.setName("Orders v2");
+
+        MockEndpointDTO updated = mockEndpointService.updateMockEndpointForUser(mock.getId(), update, "admin");
+
+        assertThat(updated.getName()).isEqualTo("Orders v2");
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        // The variants batch fetch
+        assertThat(statistics.getCollectionFetchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lookupByProjectPathAndMethodIsOneQueryPlusVariants() {
+        MockEndpointDTO found = mockEndpointService.findMockByProjectAndPathAndMethod(projectName, "/orders", HttpMethod.GET);
+
+        assertThat(found.getId()).isEqualTo(mock.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void routeLoadIsTwoQueriesWhateverTheNumberOfMocks() {
+        for (int i = 0; i < 60; i++) {
+            MockEndpointDTO definition = new MockEndpointDTO();
+            definition.setProjectId(mock.getProjectId());
+            definition.setName("Item " + i);
+            definition.setPath("/items/" + i);
+            definition.setMethod(HttpMethod.GET);
+            definition.setHttpStatusCode(200);
+            definition.setContentType("application/json");
+            definition.setResponseBody("{}");
+            mockEndpointService.createMockEndpoint(definition, "admin");
+        }
+        mockRouteTable.invalidateProject(projectName);
+        statistics.clear();
+
+        assertThat(mockEndpointService.resolveMock(projectName, "/orders", HttpMethod.GET)).isNotNull();
+        // Mocks with their headers, then their variants
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private static MockHeaderDTO header(String key, String value) {
+        MockHeaderDTO header = new MockHeaderDTO();
+        header.setHeaderKey(key);
+        header.setHeaderValue(value);
+        return header;
+    }
+}
@@ -5,16 +5,24 @@ import org.example.primera_practica.model.Project;
 import org.example.primera_practica.model.Role;
 import org.example.primera_practica.model.RoleType;
 import org.example.primera_practica.model.User;
+import org.example.primera_practica.repository.MockEndpointRepository;
 import org.example.primera_practica.repository.ProjectRepository;
 import org.example.primera_practica.repository.UserRepository;
+import org.example.primera_practica.service.runtime.MockBodyStore;
+import org.example.primera_practica.service.runtime.MockRouteTable;
+import org.example.primera_practica.service.runtime.MocksDeletedEvent;
+import org.example.primera_practica.service.runtime.ProjectDeletedEvent;
+import org.example.primera_practica.service.runtime.ProjectNameReleasedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -31,6 +39,18 @@ class ProjectServiceImplAuthorizationTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MockRouteTable mockRouteTable;
+
+    @Mock
+    private MockBodyStore mockBodyStore;
+
+    @Mock
+    private MockEndpointRepository mockEndpointRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProjectServiceImpl projectService;
 
@@ -82,9 +102,32 @@ class ProjectServiceImplAuthorizationTest {
         verify(projectRepository, never()).delete(any(Project.class));
 
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(mockEndpointRepository.findIdsByProjectId(100L)).thenReturn(List.of(300L, 301L));
         projectService.deleteProjectForUser(100L, "admin");
 
         verify(projectRepository, times(1)).delete(project);
+        verify(eventPublisher).publishEvent(new MocksDeletedEvent(List.of(300L, 301L)));
+        verify(eventPublisher).publishEvent(new ProjectDeletedEvent(100L));
+        verify(eventPublisher).publishEvent(new ProjectNameReleasedEvent("Project Owner"));
+    }
+
+    @Test
+    void updateProject_releasesTheOldNameOnlyWhenNoOtherProjectHasIt() {
+        when(projectRepository.findById(100L)).thenReturn(Optional.of(project));
+        when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectRepository.existsByName("Project Owner")).thenReturn(true);
+
+        ProjectDTO rename = new ProjectDTO();
+        rename.setName("Renamed");
+        projectService.updateProject(100L, rename);
+
+        verify(eventPublisher, never()).publishEvent(any(ProjectNameReleasedEvent.class));
+
+        rename.setName("Renamed again");
+        projectService.updateProject(100L, rename);
+
+        verify(eventPublisher).publishEvent(new ProjectNameReleasedEvent("Renamed"));
+        verify(mockRouteTable).invalidateProjectAfterCommit("Renamed again");
     }
 
     private User buildUser(String username, RoleType roleType) {
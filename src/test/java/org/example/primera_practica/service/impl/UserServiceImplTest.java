@@ -6,6 +6,7 @@ import org.example.primera_practica.model.RoleType;
 import org.example.primera_practica.model.User;
 import org.example.primera_practica.repository.RoleRepository;
 import org.example.primera_practica.repository.UserRepository;
+import org.example.primera_practica.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +21,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +36,9 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -131,6 +136,7 @@ class UserServiceImplTest {
         UserDTO updated = userService.updateUser(20L, updateDto);
 
         assertThat(updated.getRoles()).containsExactly(RoleType.ROLE_ADMIN);
+        verify(userDetailsCache).evictAfterCommit("existing");
     }
 
     @Test
@@ -151,6 +157,33 @@ class UserServiceImplTest {
                 .hasMessageContaining("Role not found: ROLE_ADMIN");
     }
 
+    @Test
+    void deleteUser_evictsTheCachedPrincipalAfterCommit() {
+        User persistedUser = new User();
+        persistedUser.setId(22L);
+        persistedUser.setUsername("leaving");
+        when(userRepository.findById(22L)).thenReturn(Optional.of(persistedUser));
+
+        userService.deleteUser(22L);
+
+        verify(userRepository).delete(persistedUser);
+        verify(userDetailsCache).evictAfterCommit("leaving");
+    }
+
+    @Test
+    void assignRole_evictsTheCachedPrincipalAfterCommit() {
+        User persistedUser = new User();
+        persistedUser.setId(23L);
+        persistedUser.setUsername("promoted");
+        when(userRepository.findById(23L)).thenReturn(Optional.of(persistedUser));
+        when(roleRepository.findById(2L)).thenReturn(Optional.of(adminRole));
+
+        userService.assignRole(23L, 2L);
+
+        assertThat(persistedUser.getRoles()).contains(adminRole);
+        verify(userDetailsCache).evictAfterCommit("promoted");
+    }
+
     private UserDTO createNewUserDto(Set<RoleType> roles) {
         UserDTO dto = new UserDTO();
         dto.setUsername("adminCandidate");
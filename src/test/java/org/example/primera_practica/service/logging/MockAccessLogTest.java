@@ -0,0 +1,61 @@
+package org.example.primera_practica.service.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockAccessLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shutdown_flushesRecordedEntriesAsJsonLines() throws IOException {
+        Path file = directory.resolve("access.log");
+        MockAccessLog accessLog = new MockAccessLog(true, file.toString(), 1_048_576, 3, 64);
+
+        accessLog.record("ci", "GET", "/api/mock/ci/orders", 200, 7L, 1_500_000, 42);
+        accessLog.record("ci", "POST", "/api/mock/ci/\"odd\"", 404, null, 2_000, 30);
+        accessLog.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .contains("\"project\":\"ci\"", "\"method\":\"GET\"", "\"path\":\"/api/mock/ci/orders\"",
+                        "\"status\":200", "\"mockId\":7", "\"latencyMicros\":1500", "\"bytes\":42");
+        assertThat(lines.get(1)).contains("\"path\":\"/api/mock/ci/\\\"odd\\\"\"", "\"mockId\":null");
+    }
+
+    @Test
+    void rotation_keepsAtMostMaxFiles() throws IOException {
+        Path file = directory.resolve("access.log");
+        MockAccessLog accessLog = new MockAccessLog(true, file.toString(), 1024, 2, 4096);
+
+        for (int i = 0; i < 200; i++) {
+            accessLog.record("ci", "GET", "/api/mock/ci/items/" + i, 200, 1L, 1_000, 10);
+        }
+        accessLog.shutdown();
+
+        assertThat(file).exists();
+        assertThat(directory.resolve("access.log.1")).exists();
+        assertThat(directory.resolve("access.log.2")).exists();
+        assertThat(directory.resolve("access.log.3")).doesNotExist();
+        assertThat(Files.size(file)).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void disabledLog_startsNoWriter() {
+        MockAccessLog accessLog = new MockAccessLog(false, directory.resolve("access.log").toString(), 1024, 2, 64);
+
+        accessLog.record("ci", "GET", "/api/mock/ci/orders", 200, 1L, 1_000, 10);
+        accessLog.shutdown();
+
+        assertThat(directory.resolve("access.log")).doesNotExist();
+    }
+}
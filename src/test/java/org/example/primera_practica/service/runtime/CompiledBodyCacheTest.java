@@ -0,0 +1,69 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledBodyCacheTest {
+
+    private static final LocalDateTime SAVED_AT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final CompiledBodyCache compiledBodyCache = new CompiledBodyCache(true, 16);
+
+    @Test
+    void bodiesFor_reusesTheBodiesUntilTheMockIsEdited() {
+        MockEndpoint mockEndpoint = mockEndpoint(1L, SAVED_AT);
+        CompiledBodies first = compiledBodyCache.bodiesFor(mockEndpoint, null);
+
+        // The project's routes are reloaded after a sibling was edited
+        assertThat(compiledBodyCache.bodiesFor(mockEndpoint(1L, SAVED_AT), null)).isSameAs(first);
+
+        MockEndpoint edited = mockEndpoint(1L, SAVED_AT.plusSeconds(1));
+        edited.setResponseBody("{\"items\":[4,5,6,7,8,9]}");
+        CompiledBodies recompiled = compiledBodyCache.bodiesFor(edited, null);
+
+        assertThat(recompiled).isNotSameAs(first);
+        assertThat(recompiled.getMock().getEtag()).isNotEqualTo(first.getMock().getEtag());
+    }
+
+    @Test
+    void bodiesFor_sharesTheCompressedFormsBetweenLoads() {
+        CompiledMock first = CompiledMock.from(mockEndpoint(1L, SAVED_AT),
+                compiledBodyCache.bodiesFor(mockEndpoint(1L, SAVED_AT), null), null, null);
+        CompiledMock second = CompiledMock.from(mockEndpoint(1L, SAVED_AT),
+                compiledBodyCache.bodiesFor(mockEndpoint(1L, SAVED_AT), null), null, null);
+
+        assertThat(first.hasCompressedVariants()).isTrue();
+        assertThat(second.getBody(ContentCoding.GZIP)).isSameAs(first.getBody(ContentCoding.GZIP));
+        assertThat(second.getEtag(ContentCoding.GZIP)).isEqualTo(first.getEtag(ContentCoding.GZIP));
+    }
+
+    @Test
+    void bodiesFor_neverCachesAMockWithoutAModificationDate() {
+        CompiledBodies first = compiledBodyCache.bodiesFor(mockEndpoint(1L, null), null);
+
+        assertThat(compiledBodyCache.bodiesFor(mockEndpoint(1L, null), null)).isNotSameAs(first);
+    }
+
+    @Test
+    void onMocksDeleted_dropsTheBodiesOfDeletedMocks() {
+        CompiledBodies deleted = compiledBodyCache.bodiesFor(mockEndpoint(1L, SAVED_AT), null);
+        CompiledBodies kept = compiledBodyCache.bodiesFor(mockEndpoint(2L, SAVED_AT), null);
+
+        compiledBodyCache.onMocksDeleted(new MocksDeletedEvent(List.of(1L)));
+
+        assertThat(compiledBodyCache.bodiesFor(mockEndpoint(1L, SAVED_AT), null)).isNotSameAs(deleted);
+        assertThat(compiledBodyCache.bodiesFor(mockEndpoint(2L, SAVED_AT), null)).isSameAs(kept);
+    }
+
+    private static MockEndpoint mockEndpoint(Long id, LocalDateTime updatedAt) {
+        MockEndpoint mockEndpoint = MockFixtures.mockEndpoint(id, "shop", "/items/" + id);
+        mockEndpoint.setResponseBody("{\"items\":\"" + "0".repeat(256) + "\"}");
+        mockEndpoint.setUpdatedAt(updatedAt);
+        return mockEndpoint;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentCodingTest {
+
+    @Test
+    void negotiate_prefersGzipWhenBothAreAccepted() {
+        assertThat(ContentCoding.negotiate("gzip, deflate, br", true, true)).isEqualTo(ContentCoding.GZIP);
+    }
+
+    @Test
+    void negotiate_honorsQualityValues() {
+        assertThat(ContentCoding.negotiate("gzip;q=0.5, deflate", true, true)).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(ContentCoding.negotiate("gzip;q=0, deflate;q=0", true, true)).isEqualTo(ContentCoding.IDENTITY);
+    }
+
+    @Test
+    void negotiate_usesWildcardForUnlistedCodings() {
+        assertThat(ContentCoding.negotiate("*", true, false)).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("gzip;q=0, *", true, true)).isEqualTo(ContentCoding.DEFLATE);
+    }
+
+    @Test
+    void negotiate_fallsBackToIdentityWithoutUsableVariant() {
+        assertThat(ContentCoding.negotiate(null, true, true)).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(ContentCoding.negotiate("br", true, true)).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(ContentCoding.negotiate("gzip", false, true)).isEqualTo(ContentCoding.IDENTITY);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketIndex_placesValuesBelowTheirBucketUpperBound() {
+        long[] samples = {0, 500, 1_024, 1_500, 999_999, 1_000_000, 42_000_000, 3_000_000_000L};
+        int previous = -1;
+        for (long sample : samples) {
+            int index = LatencyHistogram.bucketIndex(sample);
+            assertThat(index).isGreaterThanOrEqualTo(previous);
+            assertThat(LatencyHistogram.bucketUpperBoundNanos(index)).isGreaterThan(sample);
+            previous = index;
+        }
+    }
+
+    @Test
+    void bucketIndex_clampsHugeValuesToLastBucket() {
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void percentileNanos_isWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMaxNanos()).isEqualTo(1_000_000L);
+        assertThat(histogram.percentileNanos(0.50)).isBetween(500_000L, 625_000L);
+        assertThat(histogram.percentileNanos(0.99)).isBetween(990_000L, 1_000_000L);
+    }
+
+    @Test
+    void percentileNanos_isZeroWhenEmpty() {
+        assertThat(new LatencyHistogram().percentileNanos(0.99)).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyProfileTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void normalize_returnsCanonicalFormOrNull() {
+        assertThat(LatencyProfile.normalize(" Log-Normal : 100 , 40.5 ")).isEqualTo("lognormal:100,40.5");
+        assertThat(LatencyProfile.normalize("fixed:250.0")).isEqualTo("fixed:250");
+        assertThat(LatencyProfile.normalize("  ")).isNull();
+        assertThat(LatencyProfile.normalize(null)).isNull();
+    }
+
+    @Test
+    void parse_rejectsMalformedOrInconsistentProfiles() {
+        assertThatThrownBy(() -> LatencyProfile.parse("gamma:1,2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.parse("uniform:100")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.parse("uniform:150,50")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.parse("pareto:20,10")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.parse("normal:abc,1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.parse("fixed:-5")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fixed_alwaysReturnsTheSameDelay() {
+        assertThat(LatencyProfile.parse("fixed:2.5").sampleNanos()).isEqualTo(2_500_000L);
+        assertThat(LatencyProfile.fixed(250).sampleNanos()).isEqualTo(250_000_000L);
+    }
+
+    @Test
+    void uniform_staysWithinBounds() {
+        double[] millis = sample("uniform:50,150");
+
+        assertThat(millis[0]).isGreaterThanOrEqualTo(50);
+        assertThat(millis[SAMPLES - 1]).isLessThanOrEqualTo(150);
+        assertThat(mean(millis)).isCloseTo(100, within(1.0));
+    }
+
+    @Test
+    void normal_isCenteredOnTheMeanAndNeverNegative() {
+        double[] millis = sample("normal:10,20");
+
+        assertThat(millis[0]).isGreaterThanOrEqualTo(0);
+        assertThat(millis[SAMPLES / 2]).isCloseTo(10, within(0.5));
+    }
+
+    @Test
+    void lognormal_matchesRequestedMeanAndIsRightSkewed() {
+        double[] millis = sample("lognormal:100,40");
+
+        assertThat(mean(millis)).isCloseTo(100, within(1.5));
+        assertThat(millis[SAMPLES / 2]).isLessThan(100);
+    }
+
+    @Test
+    void pareto_respectsMinimumAndMedian() {
+        double[] millis = sample("pareto:20,35");
+
+        assertThat(millis[0]).isGreaterThanOrEqualTo(20);
+        assertThat(millis[SAMPLES / 2]).isCloseTo(35, within(1.0));
+        assertThat(millis[(int) (SAMPLES * 0.999)]).isGreaterThan(300);
+    }
+
+    private static double[] sample(String spec) {
+        LatencyProfile profile = LatencyProfile.parse(spec);
+        double[] millis = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            millis[i] = profile.sampleNanos() / 1_000_000d;
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static double mean(double[] values) {
+        return Arrays.stream(values).average().orElseThrow();
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.repository.MockEndpointRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MockBodyStoreTest {
+
+    private static final long GRACE = TimeUnit.MINUTES.toMillis(10);
+
+    private final MockEndpointRepository mockEndpointRepository = mock(MockEndpointRepository.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sweep_deletesAReleasedBodyOnlyAfterTheGracePeriod() throws Exception {
+        MockBodyStore store = store();
+        MockBodyStore.StoredBody body = store.store(bytes("payload"));
+        Path file = store.resolve(body.getKey());
+        store.releaseAfterCommit(body.getKey());
+
+        store.sweep(System.currentTimeMillis());
+        assertThat(file).exists();
+
+        store.sweep(System.currentTimeMillis() + GRACE + 1000);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void sweep_keepsABodyThatIsStillReferenced() throws Exception {
+        MockBodyStore store = store();
+        MockBodyStore.StoredBody body = store.store(bytes("payload"));
+        when(mockEndpointRepository.existsByBodyKey(body.getKey())).thenReturn(true);
+        store.releaseAfterCommit(body.getKey());
+
+        store.sweep(System.currentTimeMillis() + GRACE + 1000);
+
+        assertThat(store.resolve(body.getKey())).exists();
+    }
+
+    @Test
+    void store_restartsTheGracePeriodOfAReleasedBody() throws Exception {
+        MockBodyStore store = store();
+        MockBodyStore.StoredBody body = store.store(bytes("payload"));
+        Path file = store.resolve(body.getKey());
+        store.releaseAfterCommit(body.getKey());
+        long longAgo = System.currentTimeMillis() - 2 * GRACE;
+        Files.setLastModifiedTime(file, FileTime.fromMillis(longAgo));
+
+        // Another mock stores the same content; its transaction has not committed yet
+        store.store(bytes("payload"));
+        store.sweep(System.currentTimeMillis());
+
+        assertThat(file).exists();
+    }
+
+    @Test
+    void sweepOrphans_deletesBodiesLeftByAPreviousRun() throws Exception {
+        MockBodyStore previousRun = store();
+        Path file = previousRun.resolve(previousRun.store(bytes("payload")).getKey());
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 2 * GRACE));
+
+        store().sweepOrphans();
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void store_rejectsBodiesOverTheLimitWithoutKeepingAFile() throws Exception {
+        MockBodyStore store = store();
+
+        assertThatThrownBy(() -> store.store(new ByteArrayInputStream(bytes("0123456789")), 5))
+                .isInstanceOf(MockBodyStore.BodyTooLargeException.class);
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private MockBodyStore store() {
+        return new MockBodyStore(mockEndpointRepository, true, directory.toString(), 0, 1024, GRACE);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
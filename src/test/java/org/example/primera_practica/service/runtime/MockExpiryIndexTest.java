@@ -0,0 +1,48 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockExpiryIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final MockExpiryIndex index = new MockExpiryIndex();
+
+    @Test
+    void pollExpired_returnsOnlyMocksPastTheirDeadlineByProject() {
+        index.track(mock(1L, "ci", NOW.minusMinutes(1)));
+        index.track(mock(2L, "ci", NOW.minusSeconds(1)));
+        index.track(mock(3L, "demo", NOW.plusHours(1)));
+
+        assertThat(index.pollExpired(millis(NOW))).isEqualTo(Map.of("ci", Set.of(1L, 2L)));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.pollExpired(millis(NOW))).isEmpty();
+        assertThat(index.pollExpired(millis(NOW.plusHours(2)))).isEqualTo(Map.of("demo", Set.of(3L)));
+    }
+
+    @Test
+    void track_replacesThePreviousDeadlineOfAReloadedMock() {
+        index.track(mock(1L, "ci", NOW.minusMinutes(1)));
+        index.track(mock(1L, "ci", NOW.plusDays(1)));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.pollExpired(millis(NOW))).isEmpty();
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return MockExpiryIndex.toEpochMillis(dateTime);
+    }
+
+    private static CompiledMock mock(Long id, String projectName, LocalDateTime expirationDate) {
+        MockEndpoint mockEndpoint = MockFixtures.mockEndpoint(id, projectName, "/items");
+        mockEndpoint.setExpirationDate(expirationDate);
+        return CompiledMock.from(mockEndpoint, null, -1);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.HttpMethod;
+import org.example.primera_practica.model.MockEndpoint;
+import org.example.primera_practica.model.Project;
+
+/**
+ * Mocks for the runtime tests: a {@code GET} answering {@code 200} with an empty JSON object, in a project with id 10.
+ */
+final class MockFixtures {
+
+    static final Long PROJECT_ID = 10L;
+
+    private MockFixtures() {
+    }
+
+    static MockEndpoint mockEndpoint(Long id, String projectName, String path) {
+        Project project = new Project();
+        project.setId(PROJECT_ID);
+        project.setName(projectName);
+
+        MockEndpoint mockEndpoint = new MockEndpoint();
+        mockEndpoint.setId(id);
+        mockEndpoint.setProject(project);
+        mockEndpoint.setPath(path);
+        mockEndpoint.setMethod(HttpMethod.GET);
+        mockEndpoint.setHttpStatusCode(200);
+        mockEndpoint.setContentType("application/json");
+        mockEndpoint.setResponseBody("{}");
+        return mockEndpoint;
+    }
+
+    static CompiledMock compiledMock(Long id, String projectName, String path) {
+        return CompiledMock.from(mockEndpoint(id, projectName, path), null, -1);
+    }
+}
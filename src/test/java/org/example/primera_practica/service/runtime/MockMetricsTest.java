@@ -0,0 +1,65 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockMetricsTest {
+
+    private final MockMetrics mockMetrics = new MockMetrics();
+
+    @Test
+    void recordResponse_countsPerMockAndPerProject() {
+        mockMetrics.recordResponse(compile(1L, "/items"), 200, 1_000);
+        mockMetrics.recordResponse(compile(2L, "/orders"), 404, 1_000);
+
+        MockHitCounters items = mockMetrics.getMockCounters(1L);
+        assertThat(items.getHits()).isEqualTo(1);
+        assertThat(items.getStatusClassCount(2)).isEqualTo(1);
+        assertThat(items.getProjectName()).isEqualTo("shop");
+        assertThat(items.getMethod()).isEqualTo(HttpMethod.GET);
+        assertThat(items.getPath()).isEqualTo("/items");
+
+        MockHitCounters project = mockMetrics.getProjectCounters().get("shop");
+        assertThat(project.getHits()).isEqualTo(2);
+        assertThat(project.getPath()).isNull();
+    }
+
+    @Test
+    void recordResponse_followsAnEditedPath() {
+        mockMetrics.recordResponse(compile(1L, "/items"), 200, 1_000);
+        mockMetrics.recordResponse(compile(1L, "/products"), 200, 1_000);
+
+        MockHitCounters counters = mockMetrics.getMockCounters(1L);
+        assertThat(counters.getHits()).isEqualTo(2);
+        assertThat(counters.getPath()).isEqualTo("/products");
+    }
+
+    @Test
+    void onMocksDeleted_dropsOnlyTheDeletedMocks() {
+        mockMetrics.recordResponse(compile(1L, "/items"), 200, 1_000);
+        mockMetrics.recordResponse(compile(2L, "/orders"), 200, 1_000);
+
+        mockMetrics.onMocksDeleted(new MocksDeletedEvent(List.of(1L)));
+
+        assertThat(mockMetrics.getMockCounters()).containsOnlyKeys(2L);
+        assertThat(mockMetrics.getProjectCounters().get("shop").getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void onProjectNameReleased_dropsOnlyThatProjectsCounters() {
+        mockMetrics.recordResponse(compile(1L, "/items"), 200, 1_000);
+        mockMetrics.recordResponse(MockFixtures.compiledMock(2L, "billing", "/invoices"), 200, 1_000);
+
+        mockMetrics.onProjectNameReleased(new ProjectNameReleasedEvent("shop"));
+
+        assertThat(mockMetrics.getProjectCounters()).containsOnlyKeys("billing");
+    }
+
+    private static CompiledMock compile(Long id, String path) {
+        return MockFixtures.compiledMock(id, "shop", path);
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MockRouteTableTest {
+
+    private final MockRouteLoader mockRouteLoader = mock(MockRouteLoader.class);
+    private final MockRouteTable mockRouteTable = new MockRouteTable(mockRouteLoader);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void find_loadsAProjectOnceAndServesLaterHitsFromMemory() {
+        when(mockRouteLoader.loadProject("shop")).thenReturn(routes("shop", "/items"));
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/items")).isNotNull();
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/items")).isNotNull();
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/missing")).isNull();
+
+        verify(mockRouteLoader, times(1)).loadProject("shop");
+    }
+
+    @Test
+    void find_cachesUnknownProjectsAsEmptyRoutes() {
+        when(mockRouteLoader.loadProject("nope")).thenReturn(ProjectRoutes.EMPTY);
+
+        assertThat(mockRouteTable.find("nope", HttpMethod.GET, "/items")).isNull();
+        assertThat(mockRouteTable.find("nope", HttpMethod.GET, "/items")).isNull();
+
+        verify(mockRouteLoader, times(1)).loadProject("nope");
+    }
+
+    @Test
+    void invalidateProject_dropsAnEmptyEntryOnceTheProjectGetsMocks() {
+        when(mockRouteLoader.loadProject("shop"))
+                .thenReturn(ProjectRoutes.EMPTY)
+                .thenReturn(routes("shop", "/items"));
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/items")).isNull();
+        mockRouteTable.invalidateProject("shop");
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/items")).isNotNull();
+    }
+
+    @Test
+    void evictMocks_dropsOnlyTheExpiredRoutesWithoutAReload() {
+        when(mockRouteLoader.loadProject("shop")).thenReturn(new ProjectRoutes(List.of(
+                MockFixtures.compiledMock(1L, "shop", "/items"),
+                MockFixtures.compiledMock(2L, "shop", "/orders"))));
+        CompiledMock orders = mockRouteTable.find("shop", HttpMethod.GET, "/orders").getMock();
+
+        mockRouteTable.evictMocks("shop", Set.of(1L));
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/items")).isNull();
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/orders").getMock()).isSameAs(orders);
+        verify(mockRouteLoader, times(1)).loadProject("shop");
+    }
+
+    @Test
+    void evictMocks_ignoresProjectsThatAreNotLoaded() {
+        mockRouteTable.evictMocks("shop", Set.of(1L));
+
+        verify(mockRouteLoader, never()).loadProject("shop");
+    }
+
+    @Test
+    void invalidateDuringLoad_doesNotCacheTheStaleRoutes() {
+        when(mockRouteLoader.loadProject("shop"))
+                .thenAnswer(invocation -> {
+                    // A mock changed and committed while the old rows were being read
+                    mockRouteTable.invalidateProject("shop");
+                    return routes("shop", "/old");
+                })
+                .thenReturn(routes("shop", "/new"));
+
+        // The racing request is still answered from what it loaded
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/old")).isNotNull();
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/new")).isNotNull();
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/old")).isNull();
+        verify(mockRouteLoader, times(2)).loadProject("shop");
+    }
+
+    @Test
+    void invalidateProjectAfterCommit_waitsForTheTransactionToCommit() {
+        when(mockRouteLoader.loadProject("shop"))
+                .thenReturn(routes("shop", "/old"))
+                .thenReturn(routes("shop", "/new"));
+        mockRouteTable.find("shop", HttpMethod.GET, "/old");
+
+        TransactionSynchronizationManager.initSynchronization();
+        mockRouteTable.invalidateProjectAfterCommit("shop");
+
+        // Until the commit, readers keep the routes they had
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/old")).isNotNull();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/new")).isNotNull();
+        verify(mockRouteLoader, times(2)).loadProject("shop");
+    }
+
+    @Test
+    void invalidateProjectAfterCommit_outsideATransactionInvalidatesRightAway() {
+        when(mockRouteLoader.loadProject("shop"))
+                .thenReturn(routes("shop", "/old"))
+                .thenReturn(routes("shop", "/new"));
+        mockRouteTable.find("shop", HttpMethod.GET, "/old");
+
+        mockRouteTable.invalidateProjectAfterCommit("shop");
+
+        assertThat(mockRouteTable.find("shop", HttpMethod.GET, "/new")).isNotNull();
+    }
+
+    private static ProjectRoutes routes(String projectName, String path) {
+        return new ProjectRoutes(List.of(MockFixtures.compiledMock(1L, projectName, path)));
+    }
+}
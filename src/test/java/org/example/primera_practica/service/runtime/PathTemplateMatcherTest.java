@@ -0,0 +1,89 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathTemplateMatcherTest {
+
+    private PathTemplateMatcher<String> matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new PathTemplateMatcher<>();
+        matcher.add("/users", "users");
+        matcher.add("/users/me", "me");
+        matcher.add("/users/{id}", "user");
+        matcher.add("/users/:userId/orders/{orderId}", "order");
+        matcher.add("/users/*/avatar", "avatar");
+        matcher.add("/files/**", "files");
+        matcher.add("/files/{name}/meta", "meta");
+    }
+
+    @Test
+    void match_prefersLiteralOverVariableSegments() {
+        assertThat(matcher.match("/users/me").getValue()).isEqualTo("me");
+        assertThat(matcher.match("/users").getValue()).isEqualTo("users");
+    }
+
+    @Test
+    void match_capturesNamedVariables() {
+        PathTemplateMatcher.Match<String> match = matcher.match("/users/42");
+        assertThat(match.getValue()).isEqualTo("user");
+        assertThat(match.getPathVariables()).isEqualTo(Map.of("id", "42"));
+
+        PathTemplateMatcher.Match<String> order = matcher.match("/users/7/orders/99");
+        assertThat(order.getValue()).isEqualTo("order");
+        assertThat(order.getPathVariables()).isEqualTo(Map.of("userId", "7", "orderId", "99"));
+    }
+
+    @Test
+    void match_singleWildcardDoesNotCapture() {
+        PathTemplateMatcher.Match<String> match = matcher.match("/users/7/avatar");
+        assertThat(match.getValue()).isEqualTo("avatar");
+        assertThat(match.getPathVariables()).isEmpty();
+    }
+
+    @Test
+    void match_tailWildcardMatchesRemainingSegmentsAfterMoreSpecificBranchesFail() {
+        assertThat(matcher.match("/files/a/meta").getValue()).isEqualTo("meta");
+        assertThat(matcher.match("/files/a/b/c.json").getValue()).isEqualTo("files");
+        assertThat(matcher.match("/files/a/meta/extra").getValue()).isEqualTo("files");
+        assertThat(matcher.match("/files").getValue()).isEqualTo("files");
+    }
+
+    @Test
+    void match_returnsNullWhenNothingMatches() {
+        assertThat(matcher.match("/users/1/2")).isNull();
+        assertThat(matcher.match("/users/")).isNull();
+        assertThat(matcher.match("/products")).isNull();
+    }
+
+    @Test
+    void add_keepsFirstRegistrationForEquivalentTemplates() {
+        assertThat(matcher.add("/users/{other}", "duplicate")).isFalse();
+        assertThat(matcher.add("/users", "duplicate")).isFalse();
+        assertThat(matcher.match("/users/5").getValue()).isEqualTo("user");
+    }
+
+    @Test
+    void match_decodesCapturedVariables() {
+        PathTemplateMatcher.Match<String> match = matcher.match("/users/J%C3%BCrgen%20M%2FK");
+        assertThat(match.getValue()).isEqualTo("user");
+        assertThat(match.getPathVariables()).isEqualTo(Map.of("id", "J\u00fcrgen M/K"));
+
+        assertThat(matcher.match("/users/100%").getPathVariables()).isEqualTo(Map.of("id", "100%"));
+    }
+
+    @Test
+    void routeKey_isEqualExactlyForTemplatesThatConflict() {
+        assertThat(PathTemplateMatcher.routeKey("/users/{id}")).isEqualTo(PathTemplateMatcher.routeKey("/users/:other"));
+        assertThat(PathTemplateMatcher.routeKey("/users/{id}")).isEqualTo(PathTemplateMatcher.routeKey("/users/*"));
+        assertThat(PathTemplateMatcher.routeKey("/files/**")).isNotEqualTo(PathTemplateMatcher.routeKey("/files/*"));
+        assertThat(PathTemplateMatcher.routeKey("/users/me")).isNotEqualTo(PathTemplateMatcher.routeKey("/users/{id}"));
+        assertThat(PathTemplateMatcher.routeKey("/users")).isEqualTo("/users");
+    }
+}
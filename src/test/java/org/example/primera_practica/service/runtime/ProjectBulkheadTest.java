@@ -0,0 +1,141 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectBulkheadTest {
+
+    @Test
+    void tryAcquire_admitsUpToTheLimit() {
+        ProjectBulkhead bulkhead = new ProjectBulkhead("Shop", 2, 1);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_handsThePermitToTheOldestWaiter() {
+        ProjectBulkhead bulkhead = new ProjectBulkhead("Shop", 1, 2);
+        List<String> granted = new ArrayList<>();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+
+        assertThat(bulkhead.tryReserveQueueSlot()).isTrue();
+        bulkhead.enqueue(() -> granted.add("first"));
+        assertThat(bulkhead.tryReserveQueueSlot()).isTrue();
+        bulkhead.enqueue(() -> granted.add("second"));
+        assertThat(bulkhead.getQueued()).isEqualTo(2);
+        assertThat(granted).isEmpty();
+
+        bulkhead.release();
+
+        assertThat(granted).containsExactly("first");
+        assertThat(bulkhead.getInFlight()).isEqualTo(1);
+        assertThat(bulkhead.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void tryReserveQueueSlot_rejectsOnceTheQueueIsFull() {
+        ProjectBulkhead bulkhead = new ProjectBulkhead("Shop", 1, 1);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryReserveQueueSlot()).isTrue();
+        bulkhead.enqueue(() -> { });
+
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.tryReserveQueueSlot()).isFalse();
+        assertThat(bulkhead.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel_removesTheWaiterUnlessAlreadyGranted() {
+        ProjectBulkhead bulkhead = new ProjectBulkhead("Shop", 1, 2);
+        AtomicInteger granted = new AtomicInteger();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        bulkhead.tryReserveQueueSlot();
+        ProjectBulkhead.Ticket timedOut = bulkhead.enqueue(granted::incrementAndGet);
+        bulkhead.tryReserveQueueSlot();
+        ProjectBulkhead.Ticket served = bulkhead.enqueue(granted::incrementAndGet);
+
+        assertThat(timedOut.cancel()).isTrue();
+        bulkhead.release();
+
+        assertThat(granted.get()).isEqualTo(1);
+        assertThat(served.cancel()).isFalse();
+        assertThat(bulkhead.getQueued()).isZero();
+        assertThat(bulkhead.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_isGrantedRightAwayWhenAPermitFreedMeanwhile() {
+        ProjectBulkhead bulkhead = new ProjectBulkhead("Shop", 1, 1);
+        AtomicInteger granted = new AtomicInteger();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryReserveQueueSlot()).isTrue();
+
+        bulkhead.release();
+        bulkhead.enqueue(granted::incrementAndGet);
+
+        assertThat(granted.get()).isEqualTo(1);
+        assertThat(bulkhead.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRequests_neverExceedTheLimitAndAllGetServed() throws InterruptedException {
+        int limit = 4;
+        ProjectBulkhead bulkhead = new ProjectBulkhead("Shop", limit, 10_000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger served = new AtomicInteger();
+        ConcurrentLinkedQueue<Runnable> grantedWork = new ConcurrentLinkedQueue<>();
+        Runnable work = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            running.decrementAndGet();
+            served.incrementAndGet();
+            bulkhead.release();
+        };
+
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (bulkhead.tryAcquire()) {
+                        work.run();
+                    } else if (bulkhead.tryReserveQueueSlot()) {
+                        // Granted work runs later on some thread, like a dispatched request
+                        bulkhead.enqueue(() -> grantedWork.add(work));
+                    }
+                    Runnable next;
+                    while ((next = grantedWork.poll()) != null) {
+                        next.run();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        Runnable next;
+        while ((next = grantedWork.poll()) != null) {
+            next.run();
+        }
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(limit);
+        assertThat(served.get()).isEqualTo(threads * perThread);
+        assertThat(bulkhead.getInFlight()).isZero();
+        assertThat(bulkhead.getQueued()).isZero();
+    }
+}
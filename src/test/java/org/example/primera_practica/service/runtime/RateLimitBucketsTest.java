@@ -0,0 +1,78 @@
+package org.example.primera_practica.service.runtime;
+
+import org.example.primera_practica.model.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitBucketsTest {
+
+    private final RateLimitBuckets rateLimitBuckets = new RateLimitBuckets();
+
+    @Test
+    void forMock_reusesTheBucketWhileTheLimitIsUnchanged() {
+        TokenBucket first = rateLimitBuckets.forMock(1L, "10/s");
+
+        assertThat(rateLimitBuckets.forMock(1L, "10/s")).isSameAs(first);
+        assertThat(rateLimitBuckets.forMock(1L, "20/s")).isNotSameAs(first);
+        assertThat(rateLimitBuckets.forMock(1L, null)).isNull();
+        assertThat(rateLimitBuckets.forMock(1L, "20/s")).isNotSameAs(first);
+    }
+
+    @Test
+    void forProject_keepsTheBucketDrainedAcrossReloads() {
+        TokenBucket bucket = rateLimitBuckets.forProject(10L, "1/h");
+        long now = System.nanoTime();
+        assertThat(bucket.tryAcquire(now)).isZero();
+
+        // The project's routes are reloaded after an edit
+        assertThat(rateLimitBuckets.forProject(10L, "1/h").tryAcquire(now)).isPositive();
+    }
+
+    @Test
+    void onMocksDeleted_dropsTheBucketsOfDeletedMocks() {
+        TokenBucket bucket = rateLimitBuckets.forMock(1L, "10/s");
+
+        rateLimitBuckets.onMocksDeleted(new MocksDeletedEvent(List.of(1L)));
+
+        assertThat(rateLimitBuckets.forMock(1L, "10/s")).isNotSameAs(bucket);
+    }
+
+    @Test
+    void onProjectDeleted_dropsTheProjectBucket() {
+        TokenBucket bucket = rateLimitBuckets.forProject(10L, "1/h");
+        TokenBucket other = rateLimitBuckets.forProject(11L, "1/h");
+
+        rateLimitBuckets.onProjectDeleted(new ProjectDeletedEvent(10L));
+
+        assertThat(rateLimitBuckets.forProject(10L, "1/h")).isNotSameAs(bucket);
+        assertThat(rateLimitBuckets.forProject(11L, "1/h")).isSameAs(other);
+    }
+
+    @Test
+    void acquirePermit_rejectedByTheProjectLeavesTheMockBucketUntouched() {
+        TokenBucket project = rateLimitBuckets.forProject(10L, "1/h");
+        CompiledMock limited = compile(1L, "2/h", project);
+        CompiledMock sibling = compile(2L, null, project);
+        long now = System.nanoTime();
+
+        assertThat(sibling.acquirePermit(now)).isZero();
+        assertThat(limited.acquirePermit(now)).isPositive();
+        assertThat(limited.acquirePermit(now)).isPositive();
+
+        // Both of the mock's tokens are still there once the project admits again
+        long nextHour = now + 3_600_000_000_000L;
+        assertThat(rateLimitBuckets.forMock(1L, "2/h").tryAcquire(nextHour)).isZero();
+        assertThat(rateLimitBuckets.forMock(1L, "2/h").tryAcquire(nextHour)).isZero();
+    }
+
+    private CompiledMock compile(Long id, String rateLimit, TokenBucket projectBucket) {
+        MockEndpoint mockEndpoint = MockFixtures.mockEndpoint(id, "shop", "/items/" + id);
+        mockEndpoint.getProject().setRateLimit("1/h");
+        mockEndpoint.setRateLimit(rateLimit);
+        return CompiledMock.from(mockEndpoint, null, -1,
+                rateLimitBuckets.forMock(id, rateLimit), projectBucket);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseTemplateTest {
+
+    private static final TemplateValues VALUES = new FixedValues("42");
+
+    @Test
+    void render_substitutesRequestValues() {
+        String rendered = render("{\"id\": \"{{path.id}}\", \"page\": {{ query.page }}, \"trace\": \"{{header.X-Request-Id}}\", "
+                + "\"user\": \"{{jwt.sub}}\", \"call\": \"{{request.method}} {{request.path}}\"}", ResponseTemplate.Escaping.JSON);
+
+        assertThat(rendered).isEqualTo("{\"id\": \"42\", \"page\": 3, \"trace\": \"req-7\", "
+                + "\"user\": \"alice\", \"call\": \"GET /api/mock/Shop/users/42\"}");
+    }
+
+    @Test
+    void render_formatsTimestamps() {
+        assertThat(render("{{now}} {{now.epochMillis}}", ResponseTemplate.Escaping.NONE))
+                .isEqualTo("2023-11-14T22:13:20.123Z 1700000000123");
+    }
+
+    @Test
+    void render_missingValuesRenderEmpty() {
+        assertThat(render("[{{path.missing}}|{{query.missing}}|{{header.Missing}}]", ResponseTemplate.Escaping.NONE))
+                .isEqualTo("[||]");
+    }
+
+    @Test
+    void render_keepsUnknownAndUnterminatedPlaceholdersAsText() {
+        assertThat(render("{{unknown}} {{path.}} {{path.id", ResponseTemplate.Escaping.NONE))
+                .isEqualTo("{{unknown}} {{path.}} {{path.id");
+    }
+
+    @Test
+    void render_escapesValuesForTheBodyFormat() {
+        assertThat(render("\"{{query.q}}\"", ResponseTemplate.Escaping.JSON)).isEqualTo("\"say \\\"hi\\\" <b>\"");
+        assertThat(render("<q>{{query.q}}</q>", ResponseTemplate.Escaping.MARKUP))
+                .isEqualTo("<q>say &quot;hi&quot; &lt;b&gt;</q>");
+    }
+
+    @Test
+    void render_encodesLiteralsAndValuesInTheMockCharset() {
+        TemplateValues values = new FixedValues("café 😀");
+
+        assertThat(renderBytes("¿{{path.id}}?", StandardCharsets.UTF_8, values))
+                .isEqualTo("¿café 😀?".getBytes(StandardCharsets.UTF_8));
+        assertThat(renderBytes("¿{{path.id}}?", StandardCharsets.ISO_8859_1, values))
+                .isEqualTo("¿café 😀?".getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void render_reusesTheThreadBuffer() {
+        ResponseTemplate template = ResponseTemplate.compile("{{path.id}}", StandardCharsets.UTF_8, ResponseTemplate.Escaping.NONE);
+
+        TemplateBuffer first = template.render(VALUES);
+        TemplateBuffer second = template.render(VALUES);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.size()).isEqualTo(2);
+    }
+
+    private static String render(String source, ResponseTemplate.Escaping escaping) {
+        return new String(renderBytes(source, StandardCharsets.UTF_8, escaping, VALUES), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] renderBytes(String source, Charset charset, TemplateValues values) {
+        return renderBytes(source, charset, ResponseTemplate.Escaping.NONE, values);
+    }
+
+    private static byte[] renderBytes(String source, Charset charset, ResponseTemplate.Escaping escaping, TemplateValues values) {
+        return ResponseTemplate.compile(source, charset, escaping).render(values).toByteArray();
+    }
+
+    private static final class FixedValues implements TemplateValues {
+        private final String id;
+
+        private FixedValues(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String pathVariable(String name) {
+            return "id".equals(name) ? id : null;
+        }
+
+        @Override
+        public String queryParameter(String name) {
+            return Map.of("page", "3", "q", "say \"hi\" <b>").get(name);
+        }
+
+        @Override
+        public String header(String name) {
+            return "X-Request-Id".equals(name) ? "req-7" : null;
+        }
+
+        @Override
+        public String jwtSubject() {
+            return "alice";
+        }
+
+        @Override
+        public String method() {
+            return "GET";
+        }
+
+        @Override
+        public String path() {
+            return "/api/mock/Shop/users/42";
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return 1_700_000_000_123L;
+        }
+    }
+}
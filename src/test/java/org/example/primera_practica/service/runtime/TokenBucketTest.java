@@ -0,0 +1,117 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void normalize_returnsCanonicalFormOrNull() {
+        assertThat(RateLimit.normalize(" 10 / S ")).isEqualTo("10/s");
+        assertThat(RateLimit.normalize("600/m,600")).isEqualTo("600/m");
+        assertThat(RateLimit.normalize("600/m, 20")).isEqualTo("600/m,20");
+        assertThat(RateLimit.normalize(" ")).isNull();
+        assertThat(RateLimit.normalize(null)).isNull();
+    }
+
+    @Test
+    void parse_rejectsMalformedLimits() {
+        assertThatThrownBy(() -> RateLimit.parse("10")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("10/d")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("0/s")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("10/s,0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("1.5/s")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tryAcquire_admitsTheBurstThenRefillsAtTheRate() {
+        TokenBucket bucket = RateLimit.parse("10/s,3").newBucket();
+        long now = System.nanoTime();
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND / 10);
+
+        // One interval later exactly one token is back
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isPositive();
+        // An idle bucket refills up to the burst, not beyond
+        long later = now + 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void waitNanos_onlyReadsTheBucket() {
+        TokenBucket bucket = RateLimit.parse("10/s,1").newBucket();
+        long now = System.nanoTime();
+
+        assertThat(bucket.waitNanos(now)).isZero();
+        assertThat(bucket.waitNanos(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.waitNanos(now)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void refund_givesTheTokenBackWithoutOverfilling() {
+        TokenBucket bucket = RateLimit.parse("10/s,2").newBucket();
+        long now = System.nanoTime();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+
+        bucket.refund();
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isPositive();
+
+        // A refund on a full bucket does not raise it past the burst
+        long later = now + 10 * SECOND;
+        bucket.refund();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_neverOveradmitsUnderContention() throws InterruptedException {
+        TokenBucket bucket = RateLimit.parse("1000/h").newBucket();
+        long now = System.nanoTime();
+        int threads = 8;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (bucket.tryAcquire(now) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted.get()).isEqualTo(1000);
+    }
+}
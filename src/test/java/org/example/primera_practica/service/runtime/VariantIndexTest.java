@@ -0,0 +1,170 @@
+package org.example.primera_practica.service.runtime;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VariantIndexTest {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @Test
+    void parseAll_skipsCommentsAndRejectsUnknownSelectors() {
+        assertThat(VariantCondition.parseAll("# admins only\n\nquery.role = admin\nheader.X-Debug")).hasSize(2);
+        assertThatThrownBy(() -> VariantCondition.parseAll("cookie.session = 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VariantCondition.parseAll("query.name ~ ("))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VariantCondition.parseAll("$.items[first] = 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void select_returnsFirstVariantWhoseConditionsAllHold() {
+        VariantIndex<String> index = index(
+                "query.status = active\nheader.X-Tenant = acme", "active-acme",
+                "query.status = active", "active",
+                "header.Accept ~ .*xml.*", "xml");
+
+        assertThat(index.select(request().query("status", "active").header("x-tenant", "acme"))).isEqualTo("active-acme");
+        assertThat(index.select(request().query("status", "active").header("x-tenant", "other"))).isEqualTo("active");
+        assertThat(index.select(request().header("accept", "application/xml"))).isEqualTo("xml");
+        assertThat(index.select(request().query("status", "inactive"))).isNull();
+    }
+
+    @Test
+    void select_treatsHeaderNamesCaseInsensitively() {
+        VariantIndex<String> index = index("header.X-Debug", "debug");
+
+        assertThat(index.select(request().header("x-debug", ""))).isEqualTo("debug");
+        assertThat(index.select(request())).isNull();
+    }
+
+    @Test
+    void select_readsJsonPathsAndRawBody() {
+        VariantIndex<String> index = index(
+                "$.user.type = admin\n$.items[0].sku = \"A 1\"", "admin-first-item",
+                "$['user'].type = admin", "admin",
+                "body ~ (?s).*urgent.*", "urgent");
+
+        assertThat(index.select(request().body("{\"user\":{\"type\":\"admin\"},\"items\":[{\"sku\":\"A 1\"}]}")))
+                .isEqualTo("admin-first-item");
+        assertThat(index.select(request().body("{\"user\":{\"type\":\"admin\"},\"items\":[]}"))).isEqualTo("admin");
+        assertThat(index.select(request().body("not json, but urgent"))).isEqualTo("urgent");
+        assertThat(index.select(request())).isNull();
+    }
+
+    @Test
+    void select_neverReadsTheBodyWhenHeadersAlreadyDecide() {
+        VariantIndex<String> index = index("header.X-Mode = fast\n$.id = 1", "fast");
+        StubRequest request = request().body("{\"id\":1}");
+
+        assertThat(index.select(request)).isNull();
+        assertThat(request.bodyReads).isZero();
+    }
+
+    @Test
+    void select_skipsVariantsWithContradictoryEqualities() {
+        VariantIndex<String> index = index(
+                "query.a = 1\nquery.a = 2", "never",
+                "", "fallback");
+
+        assertThat(index.select(request().query("a", "1"))).isEqualTo("fallback");
+    }
+
+    @Test
+    void select_keepsAContradictedVariantOutWhenAValueRepeats() {
+        VariantIndex<String> index = index(
+                "query.status = a\nquery.status = b\nquery.status = b", "never",
+                "", "fallback");
+
+        assertThat(index.select(request().query("status", "b"))).isEqualTo("fallback");
+        assertThat(index.select(request().query("status", "a"))).isEqualTo("fallback");
+    }
+
+    @Test
+    void select_handlesMoreThanSixtyFourVariants() {
+        List<List<VariantCondition>> conditions = new ArrayList<>();
+        List<Integer> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            conditions.add(VariantCondition.parseAll("query.id = " + i));
+            responses.add(i);
+        }
+        VariantIndex<Integer> index = VariantIndex.build(conditions, responses);
+
+        assertThat(index.select(request().query("id", "150"))).isEqualTo(150);
+        assertThat(index.select(request().query("id", "63"))).isEqualTo(63);
+        assertThat(index.select(request().query("id", "64"))).isEqualTo(64);
+        assertThat(index.select(request().query("id", "200"))).isNull();
+    }
+
+    private static VariantIndex<String> index(String... conditionsAndResponses) {
+        List<List<VariantCondition>> conditions = new ArrayList<>();
+        List<String> responses = new ArrayList<>();
+        for (int i = 0; i < conditionsAndResponses.length; i += 2) {
+            conditions.add(VariantCondition.parseAll(conditionsAndResponses[i]));
+            responses.add(conditionsAndResponses[i + 1]);
+        }
+        return VariantIndex.build(conditions, responses);
+    }
+
+    private static StubRequest request() {
+        return new StubRequest();
+    }
+
+    private static final class StubRequest implements VariantRequest {
+        private final Map<String, String> query = new HashMap<>();
+        private final Map<String, String> headers = new HashMap<>();
+        private String body;
+        private int bodyReads;
+
+        private StubRequest query(String name, String value) {
+            query.put(name, value);
+            return this;
+        }
+
+        private StubRequest header(String name, String value) {
+            headers.put(name.toLowerCase(), value);
+            return this;
+        }
+
+        private StubRequest body(String body) {
+            this.body = body;
+            return this;
+        }
+
+        @Override
+        public String queryParameter(String name) {
+            return query.get(name);
+        }
+
+        @Override
+        public String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+
+        @Override
+        public String bodyText() {
+            bodyReads++;
+            return body;
+        }
+
+        @Override
+        public JsonNode jsonBody() {
+            String text = bodyText();
+            try {
+                return text != null ? JSON_MAPPER.readTree(text) : null;
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}